@@ -1,6 +1,8 @@
 package com.cv.maker.config;
 
+import com.cv.maker.service.FileEntryProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 /**
  * Properties specific to Cvmaker.
@@ -9,4 +11,35 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final CvSearch cvSearch = new CvSearch();
+
+    @NestedConfigurationProperty
+    private final FileEntryProperties fileEntry = new FileEntryProperties();
+
+    public CvSearch getCvSearch() {
+        return cvSearch;
+    }
+
+    public FileEntryProperties getFileEntry() {
+        return fileEntry;
+    }
+
+    public static class CvSearch {
+
+        /**
+         * Execution engine of the cv filter: "index" (in-memory skill index), "aggregation" (MongoDB aggregation pipeline)
+         * or "snapshot" (query on the skill snapshots embedded in the cv documents).
+         */
+        private String engine = "index";
+
+        public String getEngine() {
+            return engine;
+        }
+
+        public void setEngine(String engine) {
+            this.engine = engine;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.cv.maker.config;
 
+import com.cv.maker.service.FileEntryProperties;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,8 +24,11 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, ApplicationProperties applicationProperties) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -39,6 +43,19 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean(name = "renditionExecutor")
+    public Executor getRenditionExecutor() {
+        log.debug("Creating Rendition Task Executor");
+        FileEntryProperties.Rendition rendition = applicationProperties.getFileEntry().getRendition();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(rendition.getPoolSize());
+        executor.setMaxPoolSize(rendition.getPoolSize());
+        executor.setQueueCapacity(rendition.getQueueCapacity());
+        executor.setThreadNamePrefix("cvmaker-rendition-");
+        executor.setRejectedExecutionHandler((task, pool) -> log.warn("Rendition queue is full, a rendition is skipped"));
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -0,0 +1,30 @@
+package com.cv.maker.config;
+
+import com.cv.maker.service.CvFilterEngine;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Selects the {@link CvFilterEngine} used by the cv search, with the {@code application.cv-search.engine} property.
+ */
+@Configuration
+public class CvSearchConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(CvSearchConfiguration.class);
+
+    @Bean
+    @Primary
+    public CvFilterEngine cvFilterEngine(List<CvFilterEngine> cvFilterEngines, ApplicationProperties applicationProperties) {
+        String name = applicationProperties.getCvSearch().getEngine();
+        log.info("Using the '{}' cv search engine", name);
+        return cvFilterEngines
+            .stream()
+            .filter(engine -> engine.getName().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Unknown cv search engine: " + name));
+    }
+}
@@ -0,0 +1,17 @@
+package com.cv.maker.config;
+
+import com.cv.maker.service.FileEntryProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gives the {@code application.file-entry} properties to the services storing the file entries.
+ */
+@Configuration
+public class FileEntryConfiguration {
+
+    @Bean
+    public FileEntryProperties fileEntryProperties(ApplicationProperties applicationProperties) {
+        return applicationProperties.getFileEntry();
+    }
+}
@@ -0,0 +1,71 @@
+package com.cv.maker.config.dbmigrations;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Indexes;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.*;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Backfills the skill and language snapshots embedded in the cv documents.
+ */
+@ChangeUnit(id = "cv-snapshots-backfill", order = "002")
+public class CvSnapshotMigration {
+
+    private final MongoTemplate template;
+
+    public CvSnapshotMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        MongoCollection<Document> cvs = template.getCollection("cv");
+        for (Document cv : cvs.find().projection(new Document("skills", 1).append("languages", 1))) {
+            Document snapshots = new Document("skill_snapshots", snapshots(cv, "skills", "skill"))
+                .append("language_snapshots", snapshots(cv, "languages", "language"));
+            cvs.updateOne(new Document("_id", cv.get("_id")), new Document("$set", snapshots));
+        }
+        cvs.createIndex(Indexes.ascending("skill_snapshots.ref_id"));
+        cvs.createIndex(Indexes.ascending("language_snapshots.ref_id"));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        MongoCollection<Document> cvs = template.getCollection("cv");
+        cvs.updateMany(new Document(), new Document("$unset", new Document("skill_snapshots", "").append("language_snapshots", "")));
+    }
+
+    private List<Document> snapshots(Document cv, String field, String collection) {
+        List<Object> ids = new ArrayList<>();
+        List<?> refs = cv.get(field, List.class);
+        if (refs != null) {
+            for (Object ref : refs) {
+                if (ref instanceof DBRef) {
+                    ids.add(((DBRef) ref).getId());
+                }
+            }
+        }
+        List<Document> snapshots = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return snapshots;
+        }
+        Map<Object, Document> referenced = new HashMap<>();
+        for (Document document : template.getCollection(collection).find(new Document("_id", new Document("$in", ids)))) {
+            referenced.put(document.get("_id"), document);
+        }
+        for (Object id : ids) {
+            Document document = referenced.get(id);
+            if (document != null && document.getString("name") != null) {
+                snapshots.add(
+                    new Document("ref_id", id.toString()).append("name", document.getString("name")).append("level", document.getString("level"))
+                );
+            }
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,92 @@
+package com.cv.maker.config.dbmigrations;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Updates;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Addresses the GridFS contents of the file entries by their SHA-256 digest instead of by the id of their file entry:
+ * identical contents are merged into one content counting its references, and the file entries record the digest of their
+ * content.
+ */
+@ChangeUnit(id = "file-entry-content-digests", order = "005")
+public class FileEntryDigestMigration {
+
+    private static final String DIGEST_INDEX_NAME = "metadata_sha256";
+
+    private final MongoTemplate template;
+
+    public FileEntryDigestMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        MongoCollection<Document> fileEntries = template.getCollection("file_entry");
+        MongoCollection<Document> files = template.getCollection("fs.files");
+        GridFSBucket bucket = GridFSBuckets.create(template.getDb());
+        List<Document> unaddressed = files.find(Filters.exists("metadata.ref_count", false)).into(new ArrayList<>());
+        for (Document file : unaddressed) {
+            Object id = file.get("_id");
+            Document metadata = file.get("metadata", Document.class);
+            String digest = metadata == null ? null : metadata.getString("sha256");
+            if (digest == null) {
+                digest = digest(bucket, id);
+            }
+            fileEntries.updateOne(Filters.eq("_id", id), Updates.set("digest", digest));
+            Document addressed = files.findOneAndUpdate(
+                Filters.and(Filters.eq("metadata.sha256", digest), Filters.exists("metadata.ref_count")),
+                Updates.inc("metadata.ref_count", 1)
+            );
+            if (addressed == null) {
+                Bson address = Updates.combine(Updates.set("metadata.sha256", digest), Updates.set("metadata.ref_count", 1));
+                files.updateOne(Filters.eq("_id", id), address);
+            } else {
+                files.deleteOne(Filters.eq("_id", id));
+                template.getCollection("fs.chunks").deleteMany(Filters.eq("files_id", id));
+            }
+        }
+        files.createIndex(
+            Indexes.ascending("metadata.sha256"),
+            new IndexOptions().name(DIGEST_INDEX_NAME).unique(true).partialFilterExpression(Filters.exists("metadata.sha256"))
+        );
+        fileEntries.createIndex(Indexes.ascending("digest"));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.getCollection("fs.files").dropIndex(DIGEST_INDEX_NAME);
+    }
+
+    private String digest(GridFSBucket bucket, Object id) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            BsonValue contentId = id instanceof ObjectId ? new BsonObjectId((ObjectId) id) : new BsonString(id.toString());
+            bucket.downloadToStream(contentId, new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.cv.maker.config.dbmigrations;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLConnection;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Moves the data of the file entries out of their documents into GridFS, under the id of their file entry.
+ */
+@ChangeUnit(id = "file-entry-data-to-gridfs", order = "003")
+public class FileEntryGridFsMigration {
+
+    private final MongoTemplate template;
+
+    public FileEntryGridFsMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        MongoCollection<Document> fileEntries = template.getCollection("file_entry");
+        GridFSBucket bucket = GridFSBuckets.create(template.getDb());
+        Document withData = new Document("data", new Document("$exists", true));
+        for (Document fileEntry : fileEntries.find(withData).projection(new Document("data", 1))) {
+            Object id = fileEntry.get("_id");
+            BsonValue contentId = id instanceof ObjectId ? new BsonObjectId((ObjectId) id) : new BsonString(id.toString());
+            Object data = fileEntry.get("data");
+            if (data instanceof Binary && bucket.find(new Document("_id", contentId)).first() == null) {
+                byte[] content = ((Binary) data).getData();
+                GridFSUploadOptions options = new GridFSUploadOptions();
+                String contentType = guessContentType(content);
+                if (contentType != null) {
+                    options.metadata(new Document("_contentType", contentType));
+                }
+                bucket.uploadFromStream(contentId, id.toString(), new ByteArrayInputStream(content), options);
+            }
+            fileEntries.updateOne(new Document("_id", id), new Document("$unset", new Document("data", "")));
+        }
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        MongoCollection<Document> fileEntries = template.getCollection("file_entry");
+        GridFSBucket bucket = GridFSBuckets.create(template.getDb());
+        for (GridFSFile file : bucket.find()) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            bucket.downloadToStream(file.getId(), content);
+            Object id = file.getId().isObjectId() ? file.getId().asObjectId().getValue() : file.getId().asString().getValue();
+            fileEntries.updateOne(new Document("_id", id), new Document("$set", new Document("data", new Binary(content.toByteArray()))));
+            bucket.delete(file.getId());
+        }
+    }
+
+    private String guessContentType(byte[] content) {
+        try {
+            return URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cv.maker.config.dbmigrations;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Records the content type and the size of their content in the file entries, read from the GridFS metadata of the content,
+ * and their created date, read from their id.
+ */
+@ChangeUnit(id = "file-entry-metadata", order = "007")
+public class FileEntryMetadataMigration {
+
+    private final MongoTemplate template;
+
+    public FileEntryMetadataMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        MongoCollection<Document> fileEntries = template.getCollection("file_entry");
+        MongoCollection<Document> files = template.getCollection("fs.files");
+        List<Document> undescribed = fileEntries
+            .find(Filters.exists("size", false))
+            .projection(Projections.include("digest", "created_date"))
+            .into(new ArrayList<>());
+        for (Document fileEntry : undescribed) {
+            List<Bson> metadata = new ArrayList<>();
+            Object id = fileEntry.get("_id");
+            if (fileEntry.get("created_date") == null && id instanceof ObjectId) {
+                metadata.add(Updates.set("created_date", ((ObjectId) id).getDate()));
+            }
+            String digest = fileEntry.getString("digest");
+            Document file = digest == null ? null : files.find(Filters.eq("metadata.sha256", digest)).first();
+            if (file != null) {
+                Document fileMetadata = file.get("metadata", Document.class);
+                Number size = fileMetadata.get("size", Number.class);
+                metadata.add(Updates.set("size", size == null ? ((Number) file.get("length")).longValue() : size.longValue()));
+                metadata.add(Updates.set("content_type", fileMetadata.getString("_contentType")));
+            }
+            if (!metadata.isEmpty()) {
+                fileEntries.updateOne(Filters.eq("_id", id), Updates.combine(metadata));
+            }
+        }
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template
+            .getCollection("file_entry")
+            .updateMany(new Document(), Updates.combine(Updates.unset("size"), Updates.unset("content_type")));
+    }
+}
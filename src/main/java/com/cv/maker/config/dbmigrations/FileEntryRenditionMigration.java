@@ -0,0 +1,35 @@
+package com.cv.maker.config.dbmigrations;
+
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Indexes the renditions of the file entries by their original file entry.
+ */
+@ChangeUnit(id = "file-entry-renditions-index", order = "004")
+public class FileEntryRenditionMigration {
+
+    private static final String INDEX_NAME = "original_id_rendition";
+
+    private final MongoTemplate template;
+
+    public FileEntryRenditionMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template
+            .getCollection("file_entry")
+            .createIndex(Indexes.ascending("original_id", "rendition"), new IndexOptions().name(INDEX_NAME));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.getCollection("file_entry").dropIndex(INDEX_NAME);
+    }
+}
@@ -0,0 +1,45 @@
+package com.cv.maker.config.dbmigrations;
+
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Indexes the stored chunks of the upload sessions by their session, and the upload sessions by their creation date to
+ * delete the expired ones.
+ */
+@ChangeUnit(id = "upload-sessions-indexes", order = "006")
+public class UploadSessionMigration {
+
+    private static final String CHUNK_INDEX_NAME = "upload_chunk";
+
+    private static final String CREATED_DATE_INDEX_NAME = "created_date";
+
+    private final MongoTemplate template;
+
+    public UploadSessionMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        template
+            .getCollection("fs.files")
+            .createIndex(
+                Indexes.ascending("metadata.upload_id", "metadata.index"),
+                new IndexOptions().name(CHUNK_INDEX_NAME).sparse(true)
+            );
+        template
+            .getCollection("upload_session")
+            .createIndex(Indexes.ascending("created_date"), new IndexOptions().name(CREATED_DATE_INDEX_NAME));
+    }
+
+    @RollbackExecution
+    public void rollback() {
+        template.getCollection("fs.files").dropIndex(CHUNK_INDEX_NAME);
+        template.getCollection("upload_session").dropIndex(CREATED_DATE_INDEX_NAME);
+    }
+}
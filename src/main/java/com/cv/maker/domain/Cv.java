@@ -1,10 +1,15 @@
 package com.cv.maker.domain;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -52,13 +57,24 @@ public class Cv implements Serializable {
     private List<Study> studies;
 
     @Field
-    @DBRef
+    @DBRef(lazy = true)
     private FileEntry image;
 
     @Field
     @DBRef
     private List<Language> languages;
 
+    @Field("skill_snapshots")
+    private List<SkillSnapshot> skillSnapshots;
+
+    @Field("language_snapshots")
+    private List<SkillSnapshot> languageSnapshots;
+
+    @LastModifiedDate
+    @Field("last_modified_date")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant lastModifiedDate;
+
     public String getTitle() {
         return title;
     }
@@ -166,14 +182,43 @@ public class Cv implements Serializable {
     }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
+    @JsonIgnore
     public FileEntry getImage() {
         return image;
     }
 
+    @JsonProperty("image")
     public void setImage(FileEntry image) {
         this.image = image;
     }
 
+    /**
+     * The reference to the image, without its data: the image is lazily loaded, and its data is only served by the
+     * {@link #getImageUrl() image url}.
+     *
+     * @return a {@link FileEntry} holding only the id of the image.
+     */
+    @JsonProperty("image")
+    @JsonIgnoreProperties(value = { "data" })
+    public FileEntry getImageReference() {
+        String imageId = getImageId();
+        return imageId == null ? null : new FileEntry().id(imageId);
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getImageUrl() {
+        String imageId = getImageId();
+        return imageId == null ? null : "/api/file-entries/" + imageId + "/data";
+    }
+
+    private String getImageId() {
+        if (image instanceof LazyLoadingProxy) {
+            com.mongodb.DBRef ref = ((LazyLoadingProxy) image).toDBRef();
+            return ref == null ? null : ref.getId().toString();
+        }
+        return image == null ? null : image.getId();
+    }
+
     public List<Language> getLanguages() {
         return languages;
     }
@@ -182,6 +227,30 @@ public class Cv implements Serializable {
         this.languages = languages;
     }
 
+    public List<SkillSnapshot> getSkillSnapshots() {
+        return skillSnapshots;
+    }
+
+    public void setSkillSnapshots(List<SkillSnapshot> skillSnapshots) {
+        this.skillSnapshots = skillSnapshots;
+    }
+
+    public List<SkillSnapshot> getLanguageSnapshots() {
+        return languageSnapshots;
+    }
+
+    public void setLanguageSnapshots(List<SkillSnapshot> languageSnapshots) {
+        this.languageSnapshots = languageSnapshots;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
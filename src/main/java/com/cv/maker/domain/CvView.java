@@ -0,0 +1,214 @@
+package com.cv.maker.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A read model of a {@link Cv}, with its references embedded, so that it is read without resolving any reference.
+ */
+@Document(collection = "cv_view")
+public class CvView implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @Field("title")
+    private String title;
+
+    @Field("address")
+    private String address;
+
+    @Field("phone_number")
+    private Long phoneNumber;
+
+    @Field("postal_code")
+    private Integer postalCode;
+
+    @Field("email")
+    private String email;
+
+    @Field("collaborator_id")
+    private String collaboratorId;
+
+    @Field("collaborator_name")
+    private String collaboratorName;
+
+    @Field("image_id")
+    private String imageId;
+
+    @Field("skills")
+    private List<Skill> skills;
+
+    @Field("experiences")
+    private List<Experience> experiences;
+
+    @Field("studies")
+    private List<Study> studies;
+
+    @Field("languages")
+    private List<Language> languages;
+
+    @JsonIgnore
+    @Field("refreshed_date")
+    private Instant refreshedDate;
+
+    /**
+     * The last modified date of the cv when the view was built, the version of the view.
+     */
+    @JsonIgnore
+    @Field("cv_last_modified_date")
+    private Instant cvLastModifiedDate;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public Long getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(Long phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public Integer getPostalCode() {
+        return postalCode;
+    }
+
+    public void setPostalCode(Integer postalCode) {
+        this.postalCode = postalCode;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getCollaboratorId() {
+        return collaboratorId;
+    }
+
+    public void setCollaboratorId(String collaboratorId) {
+        this.collaboratorId = collaboratorId;
+    }
+
+    public String getCollaboratorName() {
+        return collaboratorName;
+    }
+
+    public void setCollaboratorName(String collaboratorName) {
+        this.collaboratorName = collaboratorName;
+    }
+
+    public String getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(String imageId) {
+        this.imageId = imageId;
+    }
+
+    public String getImageUrl() {
+        return imageId == null ? null : "/api/file-entries/" + imageId + "/data";
+    }
+
+    public List<Skill> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<Skill> skills) {
+        this.skills = skills;
+    }
+
+    public List<Experience> getExperiences() {
+        return experiences;
+    }
+
+    public void setExperiences(List<Experience> experiences) {
+        this.experiences = experiences;
+    }
+
+    public List<Study> getStudies() {
+        return studies;
+    }
+
+    public void setStudies(List<Study> studies) {
+        this.studies = studies;
+    }
+
+    public List<Language> getLanguages() {
+        return languages;
+    }
+
+    public void setLanguages(List<Language> languages) {
+        this.languages = languages;
+    }
+
+    public Instant getRefreshedDate() {
+        return refreshedDate;
+    }
+
+    public void setRefreshedDate(Instant refreshedDate) {
+        this.refreshedDate = refreshedDate;
+    }
+
+    public Instant getCvLastModifiedDate() {
+        return cvLastModifiedDate;
+    }
+
+    public void setCvLastModifiedDate(Instant cvLastModifiedDate) {
+        this.cvLastModifiedDate = cvLastModifiedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CvView)) {
+            return false;
+        }
+        return id != null && id.equals(((CvView) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CvView{" + "id=" + getId() + ", title='" + getTitle() + "'" + ", collaboratorName='" + getCollaboratorName() + "'" + "}";
+    }
+}
@@ -1,7 +1,13 @@
 package com.cv.maker.domain;
 
+import com.cv.maker.domain.enumeration.Rendition;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -16,8 +22,50 @@ public class FileEntry implements Serializable {
     @Id
     private String id;
 
-    @Field
+    /**
+     * The content, stored in GridFS instead of in the document.
+     */
+    @Transient
     private byte[] data;
+
+    /**
+     * The SHA-256 digest of the content, which addresses the content in the storage.
+     */
+    @Field("digest")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String digest;
+
+    /**
+     * The id of the fileEntry this fileEntry is a rendition of, or {@code null} for an original fileEntry.
+     */
+    @Field("original_id")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String originalId;
+
+    @Field("rendition")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Rendition rendition;
+
+    @Field("content_type")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String contentType;
+
+    /**
+     * The size of the content, in bytes.
+     */
+    @Field("size")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long size;
+
+    @CreatedDate
+    @Field("created_date")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant createdDate;
+
+    @LastModifiedDate
+    @Field("last_modified_date")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant lastModifiedDate;
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public String getId() {
@@ -40,6 +88,72 @@ public class FileEntry implements Serializable {
     public void setData(byte[] data) {
         this.data = data;
     }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(String digest) {
+        this.digest = digest;
+    }
+
+    public String getOriginalId() {
+        return originalId;
+    }
+
+    public FileEntry originalId(String originalId) {
+        this.setOriginalId(originalId);
+        return this;
+    }
+
+    public void setOriginalId(String originalId) {
+        this.originalId = originalId;
+    }
+
+    public Rendition getRendition() {
+        return rendition;
+    }
+
+    public FileEntry rendition(Rendition rendition) {
+        this.setRendition(rendition);
+        return this;
+    }
+
+    public void setRendition(Rendition rendition) {
+        this.rendition = rendition;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
 // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -64,6 +178,12 @@ public class FileEntry implements Serializable {
     public String toString() {
         return "FileEntry{" +
             "id=" + getId() +
+            ", digest='" + getDigest() + "'" +
+            ", originalId='" + getOriginalId() + "'" +
+            ", rendition='" + getRendition() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            ", size=" + getSize() +
+            ", createdDate='" + getCreatedDate() + "'" +
             "}";
     }
 }
@@ -0,0 +1,63 @@
+package com.cv.maker.domain;
+
+import java.io.Serializable;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A read-optimized copy of the name and level of a {@link Skill} or {@link Language}, embedded in a {@link Cv}.
+ */
+public class SkillSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Field("ref_id")
+    private String refId;
+
+    @Field("name")
+    private String name;
+
+    @Field("level")
+    private String level;
+
+    public SkillSnapshot() {}
+
+    public SkillSnapshot(String refId, String name, String level) {
+        this.refId = refId;
+        this.name = name;
+        this.level = level;
+    }
+
+    public String getRefId() {
+        return refId;
+    }
+
+    public void setRefId(String refId) {
+        this.refId = refId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SkillSnapshot{" +
+            "refId=" + getRefId() +
+            ", name='" + getName() + "'" +
+            ", level='" + getLevel() + "'" +
+            "}";
+    }
+}
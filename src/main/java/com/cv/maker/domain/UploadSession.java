@@ -0,0 +1,95 @@
+package com.cv.maker.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A resumable upload of a file, sent in numbered chunks that are stored as they arrive, then assembled into a {@link FileEntry}.
+ */
+@Document(collection = "upload_session")
+public class UploadSession implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @Field("content_type")
+    private String contentType;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Field("created_date")
+    private Instant createdDate = Instant.now();
+
+    /**
+     * The indexes of the chunks received so far, in order.
+     */
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private List<Integer> chunks;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public List<Integer> getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(List<Integer> chunks) {
+        this.chunks = chunks;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UploadSession)) {
+            return false;
+        }
+        return id != null && id.equals(((UploadSession) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UploadSession{" +
+            "id=" + getId() +
+            ", contentType='" + getContentType() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,24 @@
+package com.cv.maker.domain.enumeration;
+
+/**
+ * The Rendition enumeration, the reduced sizes in which uploaded images are rendered.
+ */
+public enum Rendition {
+    THUMBNAIL(128),
+    MEDIUM(640);
+
+    private final int maxSize;
+
+    Rendition(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the maximum width and height of the rendition, in pixels.
+     *
+     * @return the maximum width and height.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
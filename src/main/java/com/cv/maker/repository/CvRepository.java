@@ -1,6 +1,8 @@
 package com.cv.maker.repository;
 
 import com.cv.maker.domain.Cv;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,4 +12,15 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CvRepository extends MongoRepository<Cv, String> {}
+public interface CvRepository extends MongoRepository<Cv, String> {
+    Stream<Cv> streamAllBy();
+
+    /**
+     * Get the "id" entity with only its last modified date, to check its version without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the entity with only its id and its last modified date.
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'last_modified_date': 1 }")
+    Optional<Cv> findLastModifiedDateById(String id);
+}
@@ -0,0 +1,11 @@
+package com.cv.maker.repository;
+
+import com.cv.maker.domain.CvView;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data MongoDB repository for the CvView read model.
+ */
+@Repository
+public interface CvViewRepository extends MongoRepository<CvView, String> {}
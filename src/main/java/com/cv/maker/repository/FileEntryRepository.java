@@ -1,6 +1,8 @@
 package com.cv.maker.repository;
 
 import com.cv.maker.domain.FileEntry;
+import com.cv.maker.domain.enumeration.Rendition;
+import java.util.Optional;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,4 +12,36 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface FileEntryRepository extends MongoRepository<FileEntry, String> {}
+public interface FileEntryRepository extends MongoRepository<FileEntry, String> {
+    /**
+     * Get the "id" entity with only its last modified date, to check its version without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the entity with only its id and its last modified date.
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'last_modified_date': 1 }")
+    Optional<FileEntry> findLastModifiedDateById(String id);
+
+    /**
+     * Get the "id" entity with only its digest and its content type, to find its content without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the entity with only its id, its digest and its content type.
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'digest': 1, 'content_type': 1 }")
+    Optional<FileEntry> findDigestById(String id);
+
+    /**
+     * Get the "id" entity with only the metadata of its content, to keep them when the entity is replaced.
+     *
+     * @param id the id of the entity.
+     * @return the entity with only its id, its digest, its content type, its size, its created date and its original.
+     */
+    @Query(
+        value = "{ '_id': ?0 }",
+        fields = "{ 'digest': 1, 'content_type': 1, 'size': 1, 'created_date': 1, 'original_id': 1, 'rendition': 1 }"
+    )
+    Optional<FileEntry> findMetadataById(String id);
+
+    Optional<FileEntry> findOneByOriginalIdAndRendition(String originalId, Rendition rendition);
+}
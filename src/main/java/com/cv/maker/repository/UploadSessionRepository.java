@@ -0,0 +1,15 @@
+package com.cv.maker.repository;
+
+import com.cv.maker.domain.UploadSession;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data MongoDB repository for the UploadSession entity.
+ */
+@Repository
+public interface UploadSessionRepository extends MongoRepository<UploadSession, String> {
+    List<UploadSession> findAllByCreatedDateBefore(Instant createdDate);
+}
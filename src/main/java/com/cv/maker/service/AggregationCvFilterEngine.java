@@ -0,0 +1,104 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.Skill;
+import com.cv.maker.service.dto.CvFilter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link CvFilterEngine} evaluating the filter server-side with a MongoDB aggregation pipeline.
+ * <p>
+ * The pipeline extracts the ids of the {@code skills} DBRefs of each cv, joins them with the {@code skill} collection and
+ * applies the name and level predicates, returning only the ids of the matching cvs.
+ */
+@Service
+public class AggregationCvFilterEngine implements CvFilterEngine {
+
+    public static final String NAME = "aggregation";
+
+    private static final String SKILL_IDS = "skillIds";
+
+    private static final String SKILL_DOCUMENTS = "skillDocuments";
+
+    private final Logger log = LoggerFactory.getLogger(AggregationCvFilterEngine.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public AggregationCvFilterEngine(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Set<String> findCvIds(CvFilter cvFilter) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("skills.0").exists(true)),
+            context -> new Document("$project", new Document(SKILL_IDS, skillIdsExpression())),
+            Aggregation.lookup("skill", SKILL_IDS, "_id", SKILL_DOCUMENTS),
+            Aggregation.match(filterCriteria(SKILL_DOCUMENTS, cvFilter.getSkills())),
+            Aggregation.project("_id")
+        );
+        log.debug("Filtering cvs with aggregation : {}", aggregation);
+        Set<String> result = new LinkedHashSet<>();
+        for (Document document : mongoTemplate.aggregate(aggregation, "cv", Document.class)) {
+            result.add(document.get("_id").toString());
+        }
+        return result;
+    }
+
+    /**
+     * DBRefs are stored as {@code {$ref, $id}} documents, and {@code $id} can't be used in an aggregation field path, so
+     * the id is read as the second value of the DBRef document.
+     */
+    private static Document skillIdsExpression() {
+        Document refValues = new Document(
+            "$map",
+            new Document("input", new Document("$objectToArray", "$$ref")).append("as", "kv").append("in", "$$kv.v")
+        );
+        return new Document(
+            "$map",
+            new Document("input", "$skills").append("as", "ref").append("in", new Document("$arrayElemAt", List.of(refValues, 1)))
+        );
+    }
+
+    /**
+     * Criteria matching the documents having at least one element of the given array of skills matching one of the filters.
+     *
+     * @param skillsField the array field holding the skill names and levels.
+     * @param filters the skill filters.
+     * @return the criteria.
+     */
+    static Criteria filterCriteria(String skillsField, List<Skill> filters) {
+        List<Criteria> alternatives = new ArrayList<>();
+        for (Skill filter : filters) {
+            List<Criteria> conditions = new ArrayList<>();
+            String name = CvSkillIndex.normalize(filter.getName());
+            if (!name.isEmpty()) {
+                conditions.add(Criteria.where("name").regex(Pattern.quote(name), "i"));
+            }
+            if (filter.getLevel() != null && !filter.getLevel().isEmpty()) {
+                conditions.add(Criteria.where("level").is(filter.getLevel()));
+            }
+            if (conditions.isEmpty()) {
+                alternatives.add(Criteria.where(skillsField + ".0").exists(true));
+            } else {
+                alternatives.add(Criteria.where(skillsField).elemMatch(new Criteria().andOperator(conditions.toArray(new Criteria[0]))));
+            }
+        }
+        return new Criteria().orOperator(alternatives.toArray(new Criteria[0]));
+    }
+}
@@ -0,0 +1,17 @@
+package com.cv.maker.service;
+
+public class BatchTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String entityName;
+
+    public BatchTooLargeException(String entityName) {
+        super("A batch cannot hold more than " + BatchWriteService.MAX_BATCH_SIZE + " items");
+        this.entityName = entityName;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+}
@@ -0,0 +1,209 @@
+package com.cv.maker.service;
+
+import com.cv.maker.service.dto.BatchItemResult;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import java.util.*;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mapping.IdentifierAccessor;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service writing batches of entities with one bulk write per batch, reporting the outcome of each item.
+ * <p>
+ * Items are written unordered: an invalid or failed item doesn't prevent the other items from being written.
+ */
+@Service
+public class BatchWriteService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(BatchWriteService.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public BatchWriteService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Check that a batch holds no more than {@link #MAX_BATCH_SIZE} items.
+     *
+     * @param entityName the name of the entity in the batch.
+     * @param batch the batch.
+     * @throws BatchTooLargeException if the batch holds too many items.
+     */
+    public static void checkBatchSize(String entityName, List<?> batch) {
+        if (batch.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(entityName);
+        }
+    }
+
+    /**
+     * Create new entities.
+     *
+     * @param entityClass the entity class.
+     * @param entities the entities to create, without ids.
+     * @return the outcome of each entity, in the order of the entities.
+     */
+    public <T> List<BatchItemResult<T>> createAll(Class<T> entityClass, List<T> entities) {
+        log.debug("Request to create a batch of {} : {}", entityClass.getSimpleName(), entities.size());
+        MongoPersistentEntity<?> entity = persistentEntity(entityClass);
+        BatchItemResult<T>[] results = newResults(entities.size());
+        List<T> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            T item = entities.get(i);
+            if (item == null) {
+                results[i] = failure(i, null, HttpStatus.BAD_REQUEST, "missing");
+            } else if (idOf(entity, item) != null) {
+                results[i] = failure(i, idOf(entity, item), HttpStatus.BAD_REQUEST, "A new entity cannot already have an ID");
+            } else {
+                // ids are assigned before the insert, so that the failed items are known by their ids too
+                PersistentPropertyAccessor<T> accessor = entity.getPropertyAccessor(item);
+                accessor.setProperty(entity.getRequiredIdProperty(), new ObjectId().toHexString());
+                created.add(item);
+                createdIndexes.add(i);
+                results[i] = new BatchItemResult<>(i, idOf(entity, item), HttpStatus.CREATED.value(), null, item);
+            }
+        }
+        if (!created.isEmpty()) {
+            execute(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass).insert(created), createdIndexes, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Update existing entities.
+     *
+     * @param entityClass the entity class.
+     * @param entities the entities to update, with their ids.
+     * @return the outcome of each entity, in the order of the entities.
+     */
+    public <T> List<BatchItemResult<T>> updateAll(Class<T> entityClass, List<T> entities) {
+        log.debug("Request to update a batch of {} : {}", entityClass.getSimpleName(), entities.size());
+        MongoPersistentEntity<?> entity = persistentEntity(entityClass);
+        BatchItemResult<T>[] results = newResults(entities.size());
+        Set<String> ids = new HashSet<>();
+        entities.stream().filter(Objects::nonNull).map(item -> idOf(entity, item)).filter(Objects::nonNull).forEach(ids::add);
+        Set<String> existingIds = findExistingIds(entityClass, ids);
+
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+        List<Integer> updatedIndexes = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            T item = entities.get(i);
+            String id = item == null ? null : idOf(entity, item);
+            if (item == null) {
+                results[i] = failure(i, null, HttpStatus.BAD_REQUEST, "missing");
+            } else if (id == null) {
+                results[i] = failure(i, null, HttpStatus.BAD_REQUEST, "Invalid id");
+            } else if (!existingIds.contains(id)) {
+                results[i] = failure(i, id, HttpStatus.NOT_FOUND, "Entity not found");
+            } else {
+                operations.replaceOne(Query.query(Criteria.where("id").is(id)), item);
+                updatedIndexes.add(i);
+                results[i] = new BatchItemResult<>(i, id, HttpStatus.OK.value(), null, item);
+            }
+        }
+        if (!updatedIndexes.isEmpty()) {
+            execute(operations, updatedIndexes, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Delete entities.
+     *
+     * @param entityClass the entity class.
+     * @param ids the ids of the entities to delete.
+     * @return the outcome of each id, in the order of the ids.
+     */
+    public <T> List<BatchItemResult<T>> deleteAll(Class<T> entityClass, List<String> ids) {
+        log.debug("Request to delete a batch of {} : {}", entityClass.getSimpleName(), ids.size());
+        BatchItemResult<T>[] results = newResults(ids.size());
+        Set<String> existingIds = findExistingIds(entityClass, new HashSet<>(ids));
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id == null) {
+                results[i] = failure(i, null, HttpStatus.BAD_REQUEST, "Invalid id");
+            } else if (!existingIds.contains(id)) {
+                results[i] = failure(i, id, HttpStatus.NOT_FOUND, "Entity not found");
+            } else {
+                results[i] = new BatchItemResult<>(i, id, HttpStatus.NO_CONTENT.value(), null, null);
+            }
+        }
+        if (!existingIds.isEmpty()) {
+            try {
+                mongoTemplate.remove(Query.query(Criteria.where("id").in(existingIds)), entityClass);
+            } catch (DataAccessException e) {
+                for (int i = 0; i < results.length; i++) {
+                    if (results[i].isSuccessful()) {
+                        results[i] = failure(i, results[i].getId(), HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private <T> void execute(BulkOperations operations, List<Integer> indexes, BatchItemResult<T>[] results) {
+        try {
+            operations.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                int index = indexes.get(error.getIndex());
+                HttpStatus status = ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                    ? HttpStatus.CONFLICT
+                    : HttpStatus.INTERNAL_SERVER_ERROR;
+                results[index] = failure(index, results[index].getId(), status, error.getMessage());
+            }
+        } catch (DataAccessException e) {
+            for (int index : indexes) {
+                results[index] = failure(index, results[index].getId(), HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+            }
+        }
+    }
+
+    private Set<String> findExistingIds(Class<?> entityClass, Set<String> ids) {
+        ids.remove(null);
+        Set<String> existingIds = new HashSet<>();
+        if (ids.isEmpty()) {
+            return existingIds;
+        }
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("id");
+        MongoPersistentEntity<?> entity = persistentEntity(entityClass);
+        mongoTemplate.find(query, entityClass).forEach(existing -> existingIds.add(idOf(entity, existing)));
+        return existingIds;
+    }
+
+    private MongoPersistentEntity<?> persistentEntity(Class<?> entityClass) {
+        return mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass);
+    }
+
+    private static String idOf(MongoPersistentEntity<?> entity, Object item) {
+        IdentifierAccessor accessor = entity.getIdentifierAccessor(item);
+        Object id = accessor.getIdentifier();
+        return id == null ? null : id.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> BatchItemResult<T>[] newResults(int size) {
+        return new BatchItemResult[size];
+    }
+
+    private static <T> BatchItemResult<T> failure(int index, String id, HttpStatus status, String error) {
+        return new BatchItemResult<>(index, id, status.value(), error, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.cv.maker.service;
+
+public class ChunkChecksumException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ChunkChecksumException(int index) {
+        super("Chunk " + index + " doesn't match its checksum!");
+    }
+}
@@ -8,6 +8,7 @@ import com.cv.maker.repository.CollaboratorRepository;
 import com.cv.maker.repository.CvRepository;
 import com.cv.maker.repository.UserRepository;
 import com.cv.maker.security.AuthoritiesConstants;
+import com.cv.maker.service.dto.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -36,12 +37,30 @@ public class CollaboratorService {
 
     private final CvRepository cvRepository;
 
-    public CollaboratorService(CollaboratorRepository collaboratorRepository, UserService userService, PasswordEncoder passwordEncoder, UserRepository userRepository, CvRepository cvRepository) {
+    private final CvAggregateLoader cvAggregateLoader;
+
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final PartialUpdateService partialUpdateService;
+
+    public CollaboratorService(
+        CollaboratorRepository collaboratorRepository,
+        UserService userService,
+        PasswordEncoder passwordEncoder,
+        UserRepository userRepository,
+        CvRepository cvRepository,
+        CvAggregateLoader cvAggregateLoader,
+        KeysetPaginationService keysetPaginationService,
+        PartialUpdateService partialUpdateService
+    ) {
         this.collaboratorRepository = collaboratorRepository;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.userRepository = userRepository;
         this.cvRepository = cvRepository;
+        this.cvAggregateLoader = cvAggregateLoader;
+        this.keysetPaginationService = keysetPaginationService;
+        this.partialUpdateService = partialUpdateService;
     }
 
     /**
@@ -104,12 +123,7 @@ public class CollaboratorService {
     public Optional<Collaborator> partialUpdate(Collaborator collaborator) {
         log.debug("Request to partially update Collaborator : {}", collaborator);
 
-        return collaboratorRepository
-            .findById(collaborator.getId())
-            .map(existingCollaborator -> {
-                return existingCollaborator;
-            })
-            .map(collaboratorRepository::save);
+        return partialUpdateService.partialUpdate(collaborator);
     }
 
     /**
@@ -120,7 +134,20 @@ public class CollaboratorService {
      */
     public Page<Collaborator> findAll(Pageable pageable) {
         log.debug("Request to get all Collaborators");
-        return collaboratorRepository.findAll(pageable);
+        return cvAggregateLoader.findAllCollaborators(pageable);
+    }
+
+    /**
+     * Get a slice of the collaborators after a cursor.
+     *
+     * @param cursor the cursor of the slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice of entities.
+     */
+    public KeysetPage<Collaborator> findAll(String cursor, int size) {
+        log.debug("Request to get a slice of Collaborators after cursor : {}", cursor);
+        KeysetPage<String> ids = keysetPaginationService.findIds(Collaborator.class, cursor, size);
+        return ids.withContent(cvAggregateLoader.findCollaboratorsByIds(ids.getContent()));
     }
 
     /**
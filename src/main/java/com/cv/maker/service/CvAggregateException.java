@@ -0,0 +1,19 @@
+package com.cv.maker.service;
+
+import java.util.List;
+
+public class CvAggregateException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> failures;
+
+    public CvAggregateException(List<String> failures) {
+        super("Invalid cv aggregate: " + String.join("; ", failures));
+        this.failures = failures;
+    }
+
+    public List<String> getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,256 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.*;
+import com.mongodb.DBRef;
+import com.mongodb.client.FindIterable;
+import java.util.*;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+/**
+ * Loader of the {@link Cv} and {@link Collaborator} aggregates resolving their DBRefs by batch.
+ * <p>
+ * Spring Data resolves the DBRefs of each document separately. Here the raw documents of a whole page are read first, then
+ * each referenced collection is read once with an {@code $in} query on all the ids referenced by the page, and the
+ * entities are stitched back together. The image of a cv is only referenced by its id, its data is never read.
+ */
+@Service
+public class CvAggregateLoader {
+
+    private static final String SKILLS = "skills";
+
+    private static final String EXPERIENCES = "experiences";
+
+    private static final String STUDIES = "studies";
+
+    private static final String LANGUAGES = "languages";
+
+    private static final String IMAGE = "image";
+
+    private static final String COLLABORATOR = "collaborator";
+
+    private static final String CV = "cv";
+
+    private static final String USER = "user";
+
+    private static final String[] CV_REFERENCES = { SKILLS, EXPERIENCES, STUDIES, LANGUAGES, IMAGE, COLLABORATOR };
+
+    private static final String[] COLLABORATOR_REFERENCES = { CV, USER };
+
+    private final MongoTemplate mongoTemplate;
+
+    private final QueryMapper queryMapper;
+
+    public CvAggregateLoader(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    }
+
+    /**
+     * Get a page of cvs with their references.
+     *
+     * @param pageable the pagination information.
+     * @return the page of entities.
+     */
+    public Page<Cv> findAllCvs(Pageable pageable) {
+        Page<Document> documents = findPage(Cv.class, pageable);
+        return new PageImpl<>(readCvs(documents.getContent(), new HashMap<>()), pageable, documents.getTotalElements());
+    }
+
+    /**
+     * Get the cvs with the given ids, with their references.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities, in the order of the ids.
+     */
+    public List<Cv> findCvsByIds(List<String> ids) {
+        Map<String, Cv> cvs = new HashMap<>();
+        readCvs(findByIds(Cv.class, ids), new HashMap<>()).forEach(cv -> cvs.put(cv.getId(), cv));
+        return ids.stream().map(cvs::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Get a page of collaborators with their references.
+     *
+     * @param pageable the pagination information.
+     * @return the page of entities.
+     */
+    public Page<Collaborator> findAllCollaborators(Pageable pageable) {
+        Page<Document> documents = findPage(Collaborator.class, pageable);
+        return new PageImpl<>(readCollaboratorsWithCvs(documents.getContent()), pageable, documents.getTotalElements());
+    }
+
+    /**
+     * Get the collaborators with the given ids, with their references.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities, in the order of the ids.
+     */
+    public List<Collaborator> findCollaboratorsByIds(List<String> ids) {
+        Map<String, Collaborator> collaborators = new HashMap<>();
+        readCollaboratorsWithCvs(findByIds(Collaborator.class, ids)).forEach(collaborator -> collaborators.put(collaborator.getId(), collaborator));
+        return ids.stream().map(collaborators::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private List<Cv> readCvs(List<Document> documents, Map<String, Collaborator> knownCollaborators) {
+        Map<String, Skill> skills = findAllById(Skill.class, referencedIds(documents, SKILLS));
+        Map<String, Experience> experiences = findAllById(Experience.class, referencedIds(documents, EXPERIENCES));
+        Map<String, Study> studies = findAllById(Study.class, referencedIds(documents, STUDIES));
+        Map<String, Language> languages = findAllById(Language.class, referencedIds(documents, LANGUAGES));
+        Set<String> collaboratorIds = referencedIds(documents, COLLABORATOR);
+        collaboratorIds.removeAll(knownCollaborators.keySet());
+        Map<String, Collaborator> collaborators = new HashMap<>(knownCollaborators);
+        collaborators.putAll(readCollaborators(findByIds(Collaborator.class, new ArrayList<>(collaboratorIds))));
+
+        List<Cv> cvs = new ArrayList<>();
+        for (Document document : documents) {
+            Cv cv = read(Cv.class, document, CV_REFERENCES);
+            cv.setSkills(resolveList(document, SKILLS, skills));
+            cv.setExperiences(resolveList(document, EXPERIENCES, experiences));
+            cv.setStudies(resolveList(document, STUDIES, studies));
+            cv.setLanguages(resolveList(document, LANGUAGES, languages));
+            DBRef image = document.get(IMAGE, DBRef.class);
+            if (image != null) {
+                cv.setImage(new FileEntry().id(image.getId().toString()));
+            }
+            Collaborator collaborator = resolve(document, COLLABORATOR, collaborators);
+            if (collaborator != null) {
+                cv.setCollaborator(collaborator);
+                if (collaborator.getCv() == null) {
+                    collaborator.setCv(cv);
+                }
+            }
+            cvs.add(cv);
+        }
+        return cvs;
+    }
+
+    private List<Collaborator> readCollaboratorsWithCvs(List<Document> documents) {
+        Map<String, Collaborator> collaborators = readCollaborators(documents);
+        List<Document> cvDocuments = findByIds(Cv.class, new ArrayList<>(referencedIds(documents, CV)));
+        Map<String, Cv> cvs = new HashMap<>();
+        readCvs(cvDocuments, collaborators).forEach(cv -> cvs.put(cv.getId(), cv));
+        for (Document document : documents) {
+            DBRef cv = document.get(CV, DBRef.class);
+            if (cv != null) {
+                collaborators.get(document.get("_id").toString()).setCv(cvs.get(cv.getId().toString()));
+            }
+        }
+        return new ArrayList<>(collaborators.values());
+    }
+
+    /**
+     * The cv of the read collaborators is left to the caller, as it is usually the cv being read.
+     */
+    private Map<String, Collaborator> readCollaborators(List<Document> documents) {
+        Map<String, User> users = findAllById(User.class, referencedIds(documents, USER));
+        Map<String, Collaborator> collaborators = new LinkedHashMap<>();
+        for (Document document : documents) {
+            Collaborator collaborator = read(Collaborator.class, document, COLLABORATOR_REFERENCES);
+            collaborator.setUser(resolve(document, USER, users));
+            collaborators.put(collaborator.getId(), collaborator);
+        }
+        return collaborators;
+    }
+
+    private Page<Document> findPage(Class<?> entityClass, Pageable pageable) {
+        return findPage(entityClass, pageable, null);
+    }
+
+    /**
+     * Get a page of raw documents of an entity collection.
+     *
+     * @param entityClass the entity class, used to map the sort properties to the document fields.
+     * @param pageable the pagination information.
+     * @param projection the fields to read, or {@code null} to read all the fields.
+     * @return the page of documents.
+     */
+    Page<Document> findPage(Class<?> entityClass, Pageable pageable, Document projection) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass);
+        Document sort = queryMapper.getMappedSort(new Query().with(pageable.getSort()).getSortObject(), entity);
+        FindIterable<Document> find = mongoTemplate.getCollection(entity.getCollection()).find().projection(projection).sort(sort);
+        if (pageable.isPaged()) {
+            find.skip((int) pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        List<Document> documents = find.into(new ArrayList<>());
+        return PageableExecutionUtils.getPage(documents, pageable, () -> mongoTemplate.getCollection(entity.getCollection()).countDocuments());
+    }
+
+    private List<Document> findByIds(Class<?> entityClass, List<String> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> mongoIds = ids.stream().map(id -> ObjectId.isValid(id) ? new ObjectId(id) : id).collect(Collectors.toList());
+        return mongoTemplate
+            .getCollection(mongoTemplate.getCollectionName(entityClass))
+            .find(new Document("_id", new Document("$in", mongoIds)))
+            .into(new ArrayList<>());
+    }
+
+    private <T> Map<String, T> findAllById(Class<T> entityClass, Set<String> ids) {
+        Map<String, T> entities = new HashMap<>();
+        if (ids.isEmpty()) {
+            return entities;
+        }
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass);
+        for (T result : mongoTemplate.find(Query.query(Criteria.where("_id").in(ids)), entityClass)) {
+            entities.put(String.valueOf(entity.getIdentifierAccessor(result).getIdentifier()), result);
+        }
+        return entities;
+    }
+
+    private <T> T read(Class<T> entityClass, Document document, String[] references) {
+        Document withoutReferences = new Document(document);
+        for (String reference : references) {
+            withoutReferences.remove(reference);
+        }
+        return mongoTemplate.getConverter().read(entityClass, withoutReferences);
+    }
+
+    private static Set<String> referencedIds(List<Document> documents, String field) {
+        Set<String> ids = new HashSet<>();
+        for (Document document : documents) {
+            Object value = document.get(field);
+            if (value instanceof DBRef) {
+                ids.add(((DBRef) value).getId().toString());
+            } else if (value instanceof List) {
+                for (Object element : (List<?>) value) {
+                    if (element instanceof DBRef) {
+                        ids.add(((DBRef) element).getId().toString());
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static <T> T resolve(Document document, String field, Map<String, T> entities) {
+        DBRef ref = document.get(field, DBRef.class);
+        return ref == null ? null : entities.get(ref.getId().toString());
+    }
+
+    private static <T> List<T> resolveList(Document document, String field, Map<String, T> entities) {
+        List<?> refs = document.get(field, List.class);
+        if (refs == null) {
+            return null;
+        }
+        List<T> resolved = new ArrayList<>();
+        for (Object ref : refs) {
+            if (ref instanceof DBRef) {
+                Optional.ofNullable(entities.get(((DBRef) ref).getId().toString())).ifPresent(resolved::add);
+            }
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,161 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.*;
+import com.cv.maker.repository.CvRepository;
+import com.mongodb.bulk.BulkWriteError;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writer of whole {@link Cv} aggregates in one request.
+ * <p>
+ * The children of the cv without an id are new: each child collection is inserted with one unordered bulk write, then the
+ * cv document is saved. Children with an id are references to existing entities. The aggregate is created entirely or not
+ * at all: invalid references are rejected before anything is written, and if a bulk write or the cv save fails, the
+ * children already inserted are removed before a {@link CvAggregateException} listing the failed items is thrown.
+ */
+@Service
+public class CvAggregateWriter {
+
+    private final Logger log = LoggerFactory.getLogger(CvAggregateWriter.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final CvRepository cvRepository;
+
+    public CvAggregateWriter(MongoTemplate mongoTemplate, CvRepository cvRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.cvRepository = cvRepository;
+    }
+
+    /**
+     * Create a cv with its new children.
+     *
+     * @param cv the cv to create, without an id.
+     * @return the persisted cv.
+     * @throws CvAggregateException if a child is invalid or couldn't be written, in which case nothing is created.
+     */
+    public Cv create(Cv cv) {
+        log.debug("Request to create Cv aggregate : {}", cv);
+        List<Children<?>> children = List.of(
+            new Children<>("skills", Skill.class, cv.getSkills(), Skill::getId, Skill::setId),
+            new Children<>("experiences", Experience.class, cv.getExperiences(), Experience::getId, Experience::setId),
+            new Children<>("studies", Study.class, cv.getStudies(), Study::getId, Study::setId),
+            new Children<>("languages", Language.class, cv.getLanguages(), Language::getId, Language::setId)
+        );
+
+        List<String> failures = new ArrayList<>();
+        children.forEach(child -> child.checkReferences(failures));
+        if (cv.getCollaborator() != null && cv.getCollaborator().getId() != null) {
+            if (!mongoTemplate.exists(Query.query(Criteria.where("id").is(cv.getCollaborator().getId())), Collaborator.class)) {
+                failures.add("collaborator: unknown id " + cv.getCollaborator().getId());
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new CvAggregateException(failures);
+        }
+
+        children.forEach(child -> child.insert(failures));
+        if (!failures.isEmpty()) {
+            children.forEach(Children::removeInserted);
+            throw new CvAggregateException(failures);
+        }
+        try {
+            return cvRepository.save(cv);
+        } catch (DataAccessException e) {
+            children.forEach(Children::removeInserted);
+            throw new CvAggregateException(Collections.singletonList("cv: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * The children of one reference field of the cv.
+     */
+    private final class Children<T> {
+
+        private final String field;
+
+        private final Class<T> entityClass;
+
+        private final List<T> items;
+
+        private final Function<T, String> getId;
+
+        private final BiConsumer<T, String> setId;
+
+        private final Map<String, Integer> insertedIndexes = new LinkedHashMap<>();
+
+        private Children(String field, Class<T> entityClass, List<T> items, Function<T, String> getId, BiConsumer<T, String> setId) {
+            this.field = field;
+            this.entityClass = entityClass;
+            this.items = items == null ? Collections.emptyList() : items;
+            this.getId = getId;
+            this.setId = setId;
+        }
+
+        private void checkReferences(List<String> failures) {
+            Map<String, Integer> referenceIndexes = new LinkedHashMap<>();
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i) == null) {
+                    failures.add(field + "[" + i + "]: missing");
+                } else if (getId.apply(items.get(i)) != null) {
+                    referenceIndexes.put(getId.apply(items.get(i)), i);
+                }
+            }
+            if (referenceIndexes.isEmpty()) {
+                return;
+            }
+            Query query = Query.query(Criteria.where("id").in(referenceIndexes.keySet()));
+            query.fields().include("id");
+            mongoTemplate.find(query, entityClass).forEach(existing -> referenceIndexes.remove(getId.apply(existing)));
+            referenceIndexes.forEach((id, index) -> failures.add(field + "[" + index + "]: unknown id " + id));
+        }
+
+        /**
+         * Ids are assigned before the insert, so that the inserted children are known even when the bulk write fails.
+         */
+        private void insert(List<String> failures) {
+            List<T> created = new ArrayList<>();
+            List<Integer> createdIndexes = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                T item = items.get(i);
+                if (getId.apply(item) == null) {
+                    setId.accept(item, new ObjectId().toHexString());
+                    created.add(item);
+                    createdIndexes.add(i);
+                    insertedIndexes.put(getId.apply(item), i);
+                }
+            }
+            if (created.isEmpty()) {
+                return;
+            }
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass).insert(created).execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    failures.add(field + "[" + createdIndexes.get(error.getIndex()) + "]: " + error.getMessage());
+                }
+            } catch (DataAccessException e) {
+                failures.add(field + ": " + e.getMessage());
+            }
+        }
+
+        private void removeInserted() {
+            if (!insertedIndexes.isEmpty()) {
+                mongoTemplate.remove(Query.query(Criteria.where("id").in(insertedIndexes.keySet())), entityClass);
+                insertedIndexes.keySet().forEach(id -> setId.accept(items.get(insertedIndexes.get(id)), null));
+            }
+        }
+    }
+}
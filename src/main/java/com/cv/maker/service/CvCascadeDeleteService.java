@@ -0,0 +1,122 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.*;
+import com.mongodb.DBRef;
+import java.util.*;
+import java.util.concurrent.Executor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service deleting cvs with their children.
+ * <p>
+ * The cvs are deleted right away, their skills, experiences, studies, languages and image are then deleted on the task
+ * executor with one {@code deleteMany} per collection, and their collaborators are unlinked. Children still referenced
+ * by another cv are kept.
+ */
+@Service
+public class CvCascadeDeleteService {
+
+    private static final Map<String, Class<?>> CHILDREN = Map.of(
+        "skills",
+        Skill.class,
+        "experiences",
+        Experience.class,
+        "studies",
+        Study.class,
+        "languages",
+        Language.class,
+        "image",
+        FileEntry.class
+    );
+
+    private final Logger log = LoggerFactory.getLogger(CvCascadeDeleteService.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Executor taskExecutor;
+
+    public CvCascadeDeleteService(MongoTemplate mongoTemplate, @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Delete cvs, their children are deleted asynchronously.
+     *
+     * @param ids the ids of the cvs.
+     */
+    public void delete(Collection<String> ids) {
+        log.debug("Request to delete Cvs with their children : {}", ids);
+        List<Object> cvIds = new ArrayList<>();
+        Map<String, Set<Object>> childIds = new HashMap<>();
+        Document projection = new Document();
+        CHILDREN.keySet().forEach(field -> projection.append(field, 1));
+        for (Document cv : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Cv.class)).find(byIds(ids)).projection(projection)) {
+            cvIds.add(cv.get("_id"));
+            for (String field : CHILDREN.keySet()) {
+                childIds.computeIfAbsent(field, key -> new HashSet<>()).addAll(referencedIds(cv.get(field)));
+            }
+        }
+        if (cvIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(cvIds)), Cv.class);
+        taskExecutor.execute(() -> deleteChildren(cvIds, childIds));
+    }
+
+    private void deleteChildren(List<Object> cvIds, Map<String, Set<Object>> childIds) {
+        log.debug("Request to delete the children of Cvs : {}", cvIds);
+        mongoTemplate
+            .getCollection(mongoTemplate.getCollectionName(Collaborator.class))
+            .updateMany(new Document("cv.$id", new Document("$in", cvIds)), new Document("$unset", new Document("cv", "")));
+        childIds.forEach((field, ids) -> {
+            if (ids.isEmpty()) {
+                return;
+            }
+            List<Object> orphanIds = new ArrayList<>(ids);
+            mongoTemplate
+                .getCollection(mongoTemplate.getCollectionName(Cv.class))
+                .distinct(field + ".$id", new Document(field + ".$id", new Document("$in", orphanIds)), Object.class)
+                .forEach(orphanIds::remove);
+            if (!orphanIds.isEmpty()) {
+                mongoTemplate.remove(Query.query(Criteria.where("_id").in(orphanIds)), CHILDREN.get(field));
+            }
+        });
+    }
+
+    /**
+     * Ids that are valid object ids may be stored with an object id or as is.
+     */
+    private static Document byIds(Collection<String> ids) {
+        List<Object> values = new ArrayList<>();
+        for (String id : ids) {
+            values.add(id);
+            if (ObjectId.isValid(id)) {
+                values.add(new ObjectId(id));
+            }
+        }
+        return new Document("_id", new Document("$in", values));
+    }
+
+    private static List<Object> referencedIds(Object references) {
+        List<Object> ids = new ArrayList<>();
+        if (references instanceof DBRef) {
+            ids.add(((DBRef) references).getId());
+        } else if (references instanceof Collection) {
+            for (Object reference : (Collection<?>) references) {
+                if (reference instanceof DBRef) {
+                    ids.add(((DBRef) reference).getId());
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,24 @@
+package com.cv.maker.service;
+
+import com.cv.maker.service.dto.CvFilter;
+import java.util.Set;
+
+/**
+ * Execution engine resolving a {@link CvFilter} to the ids of the matching cvs.
+ * <p>
+ * The engine used by {@link CvService} is selected with the {@code application.cv-search.engine} property.
+ */
+public interface CvFilterEngine {
+    /**
+     * @return the name of the engine, as used in the {@code application.cv-search.engine} property.
+     */
+    String getName();
+
+    /**
+     * Find the ids of the cvs having at least one skill matching one of the filter skills.
+     *
+     * @param cvFilter the filter, with at least one skill.
+     * @return the ids of the matching cvs.
+     */
+    Set<String> findCvIds(CvFilter cvFilter);
+}
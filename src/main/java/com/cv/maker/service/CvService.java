@@ -5,13 +5,18 @@ import com.cv.maker.domain.Cv;
 import com.cv.maker.repository.CollaboratorRepository;
 import com.cv.maker.repository.CvRepository;
 
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.cv.maker.service.dto.CvFilter;
+import com.cv.maker.service.dto.CvSearchHit;
+import com.cv.maker.service.dto.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -21,16 +26,44 @@ import org.springframework.stereotype.Service;
 @Service
 public class CvService {
 
+    private static final int STREAM_BATCH_SIZE = 100;
+
     private final Logger log = LoggerFactory.getLogger(CvService.class);
 
     private final CvRepository cvRepository;
 
     private final CollaboratorRepository collaboratorRepository;
 
+    private final CvFilterEngine cvFilterEngine;
+
+    private final CvSkillIndex cvSkillIndex;
+
+    private final CvAggregateLoader cvAggregateLoader;
+
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final PartialUpdateService partialUpdateService;
+
+    private final CvCascadeDeleteService cvCascadeDeleteService;
 
-    public CvService(CvRepository cvRepository, CollaboratorRepository collaboratorRepository) {
+    public CvService(
+        CvRepository cvRepository,
+        CollaboratorRepository collaboratorRepository,
+        CvSkillIndex cvSkillIndex,
+        CvAggregateLoader cvAggregateLoader,
+        KeysetPaginationService keysetPaginationService,
+        PartialUpdateService partialUpdateService,
+        CvCascadeDeleteService cvCascadeDeleteService,
+        CvFilterEngine cvFilterEngine
+    ) {
         this.cvRepository = cvRepository;
         this.collaboratorRepository = collaboratorRepository;
+        this.cvSkillIndex = cvSkillIndex;
+        this.cvAggregateLoader = cvAggregateLoader;
+        this.keysetPaginationService = keysetPaginationService;
+        this.partialUpdateService = partialUpdateService;
+        this.cvCascadeDeleteService = cvCascadeDeleteService;
+        this.cvFilterEngine = cvFilterEngine;
     }
 
     /**
@@ -57,25 +90,7 @@ public class CvService {
     public Optional<Cv> partialUpdate(Cv cv) {
         log.debug("Request to partially update Cv : {}", cv);
 
-        return cvRepository
-            .findById(cv.getId())
-            .map(existingCv -> {
-                if (cv.getAddress() != null) {
-                    existingCv.setAddress(cv.getAddress());
-                }
-                if (cv.getPhoneNumber() != null) {
-                    existingCv.setPhoneNumber(cv.getPhoneNumber());
-                }
-                if (cv.getPostalCode() != null) {
-                    existingCv.setPostalCode(cv.getPostalCode());
-                }
-                if (cv.getEmail() != null) {
-                    existingCv.setEmail(cv.getEmail());
-                }
-
-                return existingCv;
-            })
-            .map(cvRepository::save);
+        return partialUpdateService.partialUpdate(cv, "address", "phoneNumber", "postalCode", "email");
     }
 
     /**
@@ -86,7 +101,20 @@ public class CvService {
      */
     public Page<Cv> findAll(Pageable pageable) {
         log.debug("Request to get all Cvs");
-        return cvRepository.findAll(pageable);
+        return cvAggregateLoader.findAllCvs(pageable);
+    }
+
+    /**
+     * Get a slice of the cvs after a cursor.
+     *
+     * @param cursor the cursor of the slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice of entities.
+     */
+    public KeysetPage<Cv> findAll(String cursor, int size) {
+        log.debug("Request to get a slice of Cvs after cursor : {}", cursor);
+        KeysetPage<String> ids = keysetPaginationService.findIds(Cv.class, cursor, size);
+        return ids.withContent(cvAggregateLoader.findCvsByIds(ids.getContent()));
     }
 
     /**
@@ -101,29 +129,108 @@ public class CvService {
     }
 
     /**
-     * Delete the cv by id.
+     * Get the last modified date of the "id" cv, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the last modified date, or empty if the entity doesn't exist or has never been modified since dates are recorded.
+     */
+    public Optional<Instant> findLastModifiedDate(String id) {
+        return cvRepository.findLastModifiedDateById(id).map(Cv::getLastModifiedDate);
+    }
+
+    /**
+     * Delete the cv by id, its children are deleted asynchronously.
      *
      * @param id the id of the entity.
      */
     public void delete(String id) {
         log.debug("Request to delete Cv : {}", id);
-        cvRepository.deleteById(id);
+        cvCascadeDeleteService.delete(Collections.singletonList(id));
+    }
+
+    /**
+     * Delete the cvs by ids, their children are deleted asynchronously.
+     *
+     * @param ids the ids of the entities.
+     */
+    public void deleteAll(List<String> ids) {
+        log.debug("Request to delete Cvs : {}", ids);
+        cvCascadeDeleteService.delete(ids);
     }
 
-    public List<Cv> findCvsByFilter(CvFilter cvFilter){
-        List<Cv> cvs = cvRepository.findAll();
-        Set<Cv> result = new HashSet<>();
-        if(cvFilter.getSkills().isEmpty()) return cvs;
-        cvFilter.getSkills().forEach(skill -> {
-            if(skill.getLevel() == null) skill.setLevel("");
-            if(skill.getName() == null) skill.setName("");
-
-            result.addAll(cvs.stream().filter(cv -> {
-                return cv.getSkills().stream()
-                    .anyMatch(skill1 -> (skill.getName().equals("") || skill1.getName().toLowerCase().contains(skill.getName().toLowerCase()))
-                        && (skill.getLevel().equals("")|| skill.getLevel().equals(skill1.getLevel())));
-            }).collect(Collectors.toList()));
-        });
-        return new ArrayList<>(result);
+    /**
+     * Get a page of the cvs having at least one skill matching one of the filter skills.
+     * <p>
+     * Matching cv ids are resolved by the configured {@link CvFilterEngine} and paged by id, only the cvs of the
+     * requested page are loaded.
+     *
+     * @param cvFilter the filter.
+     * @param pageable the pagination information, the sort is ignored when the filter has skills.
+     * @return the page of matching entities, or of all the cvs if the filter has no skill.
+     */
+    public Page<Cv> findCvsByFilter(CvFilter cvFilter, Pageable pageable) {
+        log.debug("Request to get a page of Cvs by filter");
+        if (cvFilter.getSkills() == null || cvFilter.getSkills().isEmpty()) {
+            return cvAggregateLoader.findAllCvs(pageable);
+        }
+        List<String> cvIds = new ArrayList<>(cvFilterEngine.findCvIds(cvFilter));
+        Collections.sort(cvIds);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAllByIdInOrder(cvIds), pageable, cvIds.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), cvIds.size());
+        int to = Math.min(from + pageable.getPageSize(), cvIds.size());
+        return new PageImpl<>(findAllByIdInOrder(cvIds.subList(from, to)), pageable, cvIds.size());
+    }
+
+    /**
+     * Pass the cvs having at least one skill matching one of the filter skills to a consumer, as they are loaded.
+     * <p>
+     * Cvs are loaded by batches of {@value #STREAM_BATCH_SIZE}, so the memory used doesn't depend on the number of
+     * matching cvs.
+     *
+     * @param cvFilter the filter.
+     * @param consumer the consumer of the matching entities, or of all the cvs if the filter has no skill.
+     */
+    public void forEachCvByFilter(CvFilter cvFilter, Consumer<Cv> consumer) {
+        log.debug("Request to stream Cvs by filter");
+        if (cvFilter.getSkills() == null || cvFilter.getSkills().isEmpty()) {
+            try (Stream<Cv> cvs = cvRepository.streamAllBy()) {
+                cvs.forEach(consumer);
+            }
+            return;
+        }
+        List<String> cvIds = new ArrayList<>(cvFilterEngine.findCvIds(cvFilter));
+        Collections.sort(cvIds);
+        for (int from = 0; from < cvIds.size(); from += STREAM_BATCH_SIZE) {
+            findAllByIdInOrder(cvIds.subList(from, Math.min(from + STREAM_BATCH_SIZE, cvIds.size()))).forEach(consumer);
+        }
+    }
+
+    /**
+     * Get the {@code k} cvs best matching the filter skills, by descending relevance score.
+     * <p>
+     * Scores are computed from the {@link CvSkillIndex}, only the best {@code k} cvs are loaded.
+     *
+     * @param cvFilter the filter.
+     * @param k the maximum number of results.
+     * @return the best matching entities with their score, or an empty list if the filter has no skill.
+     */
+    public List<CvSearchHit> findTopCvsByFilter(CvFilter cvFilter, int k) {
+        log.debug("Request to get the top {} Cvs by filter", k);
+        if (cvFilter.getSkills() == null || cvFilter.getSkills().isEmpty()) {
+            return new ArrayList<>();
+        }
+        LinkedHashMap<String, Double> scores = cvSkillIndex.findTopCvIds(cvFilter.getSkills(), k);
+        List<CvSearchHit> hits = new ArrayList<>();
+        findAllByIdInOrder(new ArrayList<>(scores.keySet())).forEach(cv -> hits.add(new CvSearchHit(cv, scores.get(cv.getId()))));
+        return hits;
+    }
+
+    private List<Cv> findAllByIdInOrder(List<String> cvIds) {
+        if (cvIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return cvAggregateLoader.findCvsByIds(cvIds);
     }
 }
@@ -0,0 +1,465 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.Cv;
+import com.cv.maker.domain.Skill;
+import com.cv.maker.repository.SkillRepository;
+import com.mongodb.DBRef;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory inverted index of {@link Skill} terms to {@link Cv} ids.
+ * <p>
+ * Postings go from the normalized skill name and the skill level to the ids of the cvs referencing such a skill, the
+ * names being themselves indexed by trigram so that substring name queries don't scan every name.
+ * The index is built from the database on startup and kept current by {@link CvSkillIndexEventListener}.
+ */
+@Service
+public class CvSkillIndex {
+
+    static final double EXACT_NAME_SCORE = 1.0;
+
+    static final double PARTIAL_NAME_SCORE = 0.5;
+
+    /** Part of a name score kept whatever the level proximity. */
+    private static final double LEVEL_BASE_WEIGHT = 0.5;
+
+    private final Logger log = LoggerFactory.getLogger(CvSkillIndex.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final SkillRepository skillRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** skill id -> indexed term of the skill. */
+    private final Map<String, SkillTerm> skillTerms = new HashMap<>();
+
+    /** skill id -> ids of the cvs referencing the skill. */
+    private final Map<String, Set<String>> cvIdsBySkill = new HashMap<>();
+
+    /** cv id -> ids of the skills referenced by the cv. */
+    private final Map<String, Set<String>> skillIdsByCv = new HashMap<>();
+
+    /** cv id -> terms currently posted for the cv. */
+    private final Map<String, Set<SkillTerm>> termsByCv = new HashMap<>();
+
+    /** normalized skill name -> level -> cv ids. */
+    private final Map<String, Map<String, Set<String>>> postings = new HashMap<>();
+
+    /** trigram -> normalized skill names of the postings, for substring name queries. */
+    private final TrigramIndex names = new TrigramIndex();
+
+    private volatile boolean built;
+
+    public CvSkillIndex(MongoTemplate mongoTemplate, SkillRepository skillRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.skillRepository = skillRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureBuilt();
+    }
+
+    /**
+     * Find the ids of the cvs having at least one skill matching one of the given filters.
+     * <p>
+     * A filter matches a skill when its name is contained in the skill name (ignoring case) and its level is equal to the
+     * skill level. An empty or {@code null} name or level matches any value.
+     *
+     * @param filters the skill filters.
+     * @return the ids of the matching cvs.
+     */
+    public Set<String> findCvIds(List<Skill> filters) {
+        ensureBuilt();
+        Set<String> result = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Skill filter : filters) {
+                String level = filter.getLevel() == null ? "" : filter.getLevel();
+                for (String name : findNamesContaining(normalize(filter.getName()))) {
+                    Map<String, Set<String>> byLevel = postings.get(name);
+                    if (level.isEmpty()) {
+                        byLevel.values().forEach(result::addAll);
+                    } else {
+                        result.addAll(byLevel.getOrDefault(level, Collections.emptySet()));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Find the ids of the {@code k} cvs best matching the given filters, with their score.
+     * <p>
+     * Each filter satisfied by a cv adds the score of its best matching skill: {@value #EXACT_NAME_SCORE} for an exact
+     * name, {@value #PARTIAL_NAME_SCORE} for a partial name, weighted by the proximity of the levels when the filter has
+     * a level. Candidates are scored in one pass over the matching postings and only the best {@code k} are kept, in a bounded heap.
+     *
+     * @param filters the skill filters.
+     * @param k the maximum number of results.
+     * @return the ids of the best matching cvs with their score, by descending score.
+     */
+    public LinkedHashMap<String, Double> findTopCvIds(List<Skill> filters, int k) {
+        ensureBuilt();
+        List<SkillTerm> filterTerms = new ArrayList<>();
+        filters.forEach(filter -> filterTerms.add(new SkillTerm(filter.getName(), filter.getLevel())));
+        Comparator<Map.Entry<String, Double>> byScore = Map.Entry.<String, Double>comparingByValue().thenComparing(
+            Map.Entry.comparingByKey(Comparator.reverseOrder())
+        );
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(k + 1, byScore);
+        lock.readLock().lock();
+        try {
+            Set<String> candidates = new HashSet<>();
+            for (SkillTerm filterTerm : filterTerms) {
+                for (String name : findNamesContaining(filterTerm.name)) {
+                    postings.get(name).values().forEach(candidates::addAll);
+                }
+            }
+            for (String cvId : candidates) {
+                double score = score(filterTerms, termsByCv.getOrDefault(cvId, Collections.emptySet()));
+                if (score <= 0) {
+                    continue;
+                }
+                heap.offer(new AbstractMap.SimpleImmutableEntry<>(cvId, score));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Map.Entry<String, Double>> top = new ArrayList<>(heap);
+        top.sort(byScore.reversed());
+        LinkedHashMap<String, Double> result = new LinkedHashMap<>();
+        top.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    private Set<String> findNamesContaining(String fragment) {
+        return fragment.isEmpty() ? postings.keySet() : names.findContaining(fragment);
+    }
+
+    private static double score(List<SkillTerm> filterTerms, Set<SkillTerm> cvTerms) {
+        double score = 0;
+        for (SkillTerm filterTerm : filterTerms) {
+            double best = 0;
+            for (SkillTerm cvTerm : cvTerms) {
+                best = Math.max(best, score(filterTerm, cvTerm));
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private static double score(SkillTerm filterTerm, SkillTerm cvTerm) {
+        double nameScore;
+        if (filterTerm.name.isEmpty() || cvTerm.name.equals(filterTerm.name)) {
+            nameScore = EXACT_NAME_SCORE;
+        } else if (cvTerm.name.contains(filterTerm.name)) {
+            nameScore = PARTIAL_NAME_SCORE;
+        } else {
+            return 0;
+        }
+        if (filterTerm.level.isEmpty()) {
+            return nameScore;
+        }
+        return nameScore * (LEVEL_BASE_WEIGHT + (1 - LEVEL_BASE_WEIGHT) * levelProximity(filterTerm.level, cvTerm.level));
+    }
+
+    /**
+     * The proximity of two levels, between 0 and 1: 1 for equal levels, decreasing with the distance of numeric levels,
+     * 0 for other different levels.
+     */
+    private static double levelProximity(String filterLevel, String cvLevel) {
+        if (filterLevel.equalsIgnoreCase(cvLevel)) {
+            return 1;
+        }
+        try {
+            return 1 / (1 + Math.abs(Double.parseDouble(filterLevel) - Double.parseDouble(cvLevel)));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Index or re-index a saved cv.
+     *
+     * @param cv the saved cv.
+     */
+    public void indexCv(Cv cv) {
+        if (!built || cv.getId() == null) {
+            return;
+        }
+        Map<String, SkillTerm> knownTerms = new HashMap<>();
+        Set<String> unknownSkillIds = new HashSet<>();
+        Set<String> skillIds = new HashSet<>();
+        if (cv.getSkills() != null) {
+            for (Skill skill : cv.getSkills()) {
+                if (skill == null || skill.getId() == null) {
+                    continue;
+                }
+                skillIds.add(skill.getId());
+                if (skill.getName() != null) {
+                    knownTerms.put(skill.getId(), new SkillTerm(skill.getName(), skill.getLevel()));
+                } else {
+                    unknownSkillIds.add(skill.getId());
+                }
+            }
+        }
+        lock.readLock().lock();
+        try {
+            unknownSkillIds.removeAll(skillTerms.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!unknownSkillIds.isEmpty()) {
+            skillRepository.findAllById(unknownSkillIds).forEach(skill -> knownTerms.put(skill.getId(), new SkillTerm(skill.getName(), skill.getLevel())));
+        }
+
+        lock.writeLock().lock();
+        try {
+            skillTerms.putAll(knownTerms);
+            Set<String> previousSkillIds = skillIdsByCv.put(cv.getId(), skillIds);
+            if (previousSkillIds != null) {
+                previousSkillIds.forEach(skillId -> removeFromSet(cvIdsBySkill, skillId, cv.getId()));
+            }
+            skillIds.forEach(skillId -> cvIdsBySkill.computeIfAbsent(skillId, id -> new HashSet<>()).add(cv.getId()));
+            Set<String> affectedCvIds = new HashSet<>();
+            affectedCvIds.add(cv.getId());
+            knownTerms.keySet().forEach(skillId -> affectedCvIds.addAll(cvIdsBySkill.getOrDefault(skillId, Collections.emptySet())));
+            affectedCvIds.forEach(this::repostCv);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the given cvs from the index.
+     *
+     * @param cvIds the ids of the deleted cvs.
+     */
+    public void removeCvs(Collection<String> cvIds) {
+        if (!built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String cvId : cvIds) {
+                Set<String> skillIds = skillIdsByCv.remove(cvId);
+                if (skillIds != null) {
+                    skillIds.forEach(skillId -> removeFromSet(cvIdsBySkill, skillId, cvId));
+                }
+                unpostCv(cvId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index or re-index a saved skill, updating the postings of every cv referencing it.
+     *
+     * @param skill the saved skill.
+     */
+    public void indexSkill(Skill skill) {
+        if (!built || skill.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            skillTerms.put(skill.getId(), new SkillTerm(skill.getName(), skill.getLevel()));
+            cvIdsBySkill.getOrDefault(skill.getId(), Collections.emptySet()).forEach(this::repostCv);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the given skills from the index.
+     *
+     * @param skillIds the ids of the deleted skills.
+     */
+    public void removeSkills(Collection<String> skillIds) {
+        if (!built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String skillId : skillIds) {
+                skillTerms.remove(skillId);
+                Set<String> cvIds = cvIdsBySkill.remove(skillId);
+                if (cvIds != null) {
+                    cvIds.forEach(cvId -> {
+                        removeFromSet(skillIdsByCv, cvId, skillId);
+                        repostCv(cvId);
+                    });
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the index content, it will be rebuilt from the database on next use.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            built = false;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                rebuild();
+                built = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        log.debug("Building the cv skill index");
+        clear();
+        for (Document skill : mongoTemplate.getCollection("skill").find().projection(new Document("name", 1).append("level", 1))) {
+            skillTerms.put(skill.get("_id").toString(), new SkillTerm(skill.getString("name"), skill.getString("level")));
+        }
+        for (Document cv : mongoTemplate.getCollection("cv").find().projection(new Document("skills", 1))) {
+            String cvId = cv.get("_id").toString();
+            Set<String> skillIds = new HashSet<>();
+            List<?> refs = cv.get("skills", List.class);
+            if (refs != null) {
+                for (Object ref : refs) {
+                    if (ref instanceof DBRef) {
+                        skillIds.add(((DBRef) ref).getId().toString());
+                    }
+                }
+            }
+            skillIdsByCv.put(cvId, skillIds);
+            skillIds.forEach(skillId -> cvIdsBySkill.computeIfAbsent(skillId, id -> new HashSet<>()).add(cvId));
+            repostCv(cvId);
+        }
+        log.debug("Built the cv skill index: {} cvs, {} skills, {} distinct names", skillIdsByCv.size(), skillTerms.size(), postings.size());
+    }
+
+    private void clear() {
+        skillTerms.clear();
+        cvIdsBySkill.clear();
+        skillIdsByCv.clear();
+        termsByCv.clear();
+        postings.clear();
+        names.clear();
+    }
+
+    private void repostCv(String cvId) {
+        unpostCv(cvId);
+        Set<SkillTerm> terms = new HashSet<>();
+        for (String skillId : skillIdsByCv.getOrDefault(cvId, Collections.emptySet())) {
+            SkillTerm term = skillTerms.get(skillId);
+            if (term != null) {
+                terms.add(term);
+            }
+        }
+        for (SkillTerm term : terms) {
+            postings
+                .computeIfAbsent(
+                    term.name,
+                    name -> {
+                        names.add(name);
+                        return new HashMap<>();
+                    }
+                )
+                .computeIfAbsent(term.level, level -> new HashSet<>())
+                .add(cvId);
+        }
+        if (!terms.isEmpty()) {
+            termsByCv.put(cvId, terms);
+        }
+    }
+
+    private void unpostCv(String cvId) {
+        Set<SkillTerm> terms = termsByCv.remove(cvId);
+        if (terms == null) {
+            return;
+        }
+        for (SkillTerm term : terms) {
+            Map<String, Set<String>> byLevel = postings.get(term.name);
+            if (byLevel != null) {
+                removeFromSet(byLevel, term.level, cvId);
+                if (byLevel.isEmpty()) {
+                    postings.remove(term.name);
+                    names.remove(term.name);
+                }
+            }
+        }
+    }
+
+    private static void removeFromSet(Map<String, Set<String>> map, String key, String value) {
+        Set<String> values = map.get(key);
+        if (values != null) {
+            values.remove(value);
+            if (values.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A normalized (name, level) pair.
+     */
+    private static final class SkillTerm {
+
+        private final String name;
+
+        private final String level;
+
+        private SkillTerm(String name, String level) {
+            this.name = normalize(name);
+            this.level = level == null ? "" : level;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SkillTerm)) {
+                return false;
+            }
+            SkillTerm that = (SkillTerm) o;
+            return name.equals(that.name) && level.equals(that.level);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, level);
+        }
+    }
+}
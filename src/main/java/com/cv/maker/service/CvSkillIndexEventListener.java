@@ -0,0 +1,82 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.Cv;
+import com.cv.maker.domain.Skill;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link CvSkillIndex} current with the {@link Cv} and {@link Skill} save and delete events.
+ */
+@Component
+public class CvSkillIndexEventListener extends AbstractMongoEventListener<Object> {
+
+    private final CvSkillIndex cvSkillIndex;
+
+    public CvSkillIndexEventListener(CvSkillIndex cvSkillIndex) {
+        this.cvSkillIndex = cvSkillIndex;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof Cv) {
+            cvSkillIndex.indexCv((Cv) source);
+        } else if (source instanceof Skill) {
+            cvSkillIndex.indexSkill((Skill) source);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        if (Cv.class.equals(event.getType())) {
+            Optional<List<String>> ids = deletedIds(event.getSource());
+            if (ids.isPresent()) {
+                cvSkillIndex.removeCvs(ids.get());
+            } else {
+                cvSkillIndex.invalidate();
+            }
+        } else if (Skill.class.equals(event.getType())) {
+            Optional<List<String>> ids = deletedIds(event.getSource());
+            if (ids.isPresent()) {
+                cvSkillIndex.removeSkills(ids.get());
+            } else {
+                cvSkillIndex.invalidate();
+            }
+        }
+    }
+
+    /**
+     * Extract the deleted ids from a delete query, when it is a plain id or {@code $in} ids query.
+     *
+     * @param query the delete query.
+     * @return the deleted ids, or empty if the query can't be resolved to ids.
+     */
+    static Optional<List<String>> deletedIds(Document query) {
+        if (query == null || query.size() != 1) {
+            return Optional.empty();
+        }
+        Object id = query.containsKey("_id") ? query.get("_id") : query.get("id");
+        if (id == null) {
+            return Optional.empty();
+        }
+        List<String> ids = new ArrayList<>();
+        if (id instanceof Document) {
+            Object in = ((Document) id).get("$in");
+            if (((Document) id).size() != 1 || !(in instanceof Collection)) {
+                return Optional.empty();
+            }
+            ((Collection<?>) in).forEach(value -> ids.add(value.toString()));
+        } else {
+            ids.add(id.toString());
+        }
+        return Optional.of(ids);
+    }
+}
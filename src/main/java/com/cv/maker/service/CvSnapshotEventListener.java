@@ -0,0 +1,24 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.Cv;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes the snapshots embedded in a {@link Cv} before it is saved, whoever saves it.
+ */
+@Component
+public class CvSnapshotEventListener extends AbstractMongoEventListener<Cv> {
+
+    private final CvSnapshotService cvSnapshotService;
+
+    public CvSnapshotEventListener(CvSnapshotService cvSnapshotService) {
+        this.cvSnapshotService = cvSnapshotService;
+    }
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Cv> event) {
+        cvSnapshotService.refresh(event.getSource());
+    }
+}
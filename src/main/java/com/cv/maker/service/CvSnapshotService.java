@@ -0,0 +1,234 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.Cv;
+import com.cv.maker.domain.Language;
+import com.cv.maker.domain.Skill;
+import com.cv.maker.domain.SkillSnapshot;
+import com.cv.maker.repository.LanguageRepository;
+import com.cv.maker.repository.SkillRepository;
+import java.util.*;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service maintaining the skill and language snapshots embedded in the {@link Cv} documents.
+ * <p>
+ * Snapshots are recomputed from the references whenever a cv is saved, see {@link CvSnapshotEventListener}, and patched in
+ * place in every referencing cv whenever a skill or a language is saved or deleted.
+ */
+@Service
+public class CvSnapshotService {
+
+    static final String SKILL_SNAPSHOTS = "skill_snapshots";
+
+    static final String LANGUAGE_SNAPSHOTS = "language_snapshots";
+
+    private final Logger log = LoggerFactory.getLogger(CvSnapshotService.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final SkillRepository skillRepository;
+
+    private final LanguageRepository languageRepository;
+
+    public CvSnapshotService(MongoTemplate mongoTemplate, SkillRepository skillRepository, LanguageRepository languageRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.skillRepository = skillRepository;
+        this.languageRepository = languageRepository;
+    }
+
+    /**
+     * Recompute the snapshots of a cv from its skills and languages, before it is saved.
+     *
+     * @param cv the cv to refresh.
+     */
+    public void refresh(Cv cv) {
+        cv.setSkillSnapshots(
+            snapshots(
+                cv.getSkills(),
+                Skill::getId,
+                Skill::getName,
+                skillRepository::findAllById,
+                skill -> new SkillSnapshot(skill.getId(), skill.getName(), skill.getLevel())
+            )
+        );
+        cv.setLanguageSnapshots(
+            snapshots(
+                cv.getLanguages(),
+                Language::getId,
+                Language::getName,
+                languageRepository::findAllById,
+                language -> new SkillSnapshot(language.getId(), language.getName(), language.getLevel())
+            )
+        );
+    }
+
+    /**
+     * Update the snapshot of a saved skill in every cv referencing it.
+     *
+     * @param skill the saved skill.
+     */
+    public void updateSkill(Skill skill) {
+        updateSnapshots(SKILL_SNAPSHOTS, skill.getId(), skill.getName(), skill.getLevel());
+    }
+
+    /**
+     * Update the snapshots of a batch of saved skills in every cv referencing them, with one bulk write.
+     *
+     * @param skills the saved skills.
+     */
+    public void updateSkills(Collection<Skill> skills) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Cv.class);
+        skills.forEach(skill -> addUpdateSnapshots(bulkOperations, SKILL_SNAPSHOTS, skill.getId(), skill.getName(), skill.getLevel()));
+        execute(bulkOperations, skills);
+    }
+
+    /**
+     * Remove the snapshot of a deleted skill from every cv referencing it.
+     *
+     * @param id the id of the deleted skill.
+     */
+    public void removeSkill(String id) {
+        removeSnapshots(SKILL_SNAPSHOTS, id);
+    }
+
+    /**
+     * Remove the snapshots of a batch of deleted skills from every cv referencing them, with one bulk write.
+     *
+     * @param ids the ids of the deleted skills.
+     */
+    public void removeSkills(Collection<String> ids) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Cv.class);
+        ids.forEach(id -> addRemoveSnapshots(bulkOperations, SKILL_SNAPSHOTS, id));
+        execute(bulkOperations, ids);
+    }
+
+    /**
+     * Update the snapshot of a saved language in every cv referencing it.
+     *
+     * @param language the saved language.
+     */
+    public void updateLanguage(Language language) {
+        updateSnapshots(LANGUAGE_SNAPSHOTS, language.getId(), language.getName(), language.getLevel());
+    }
+
+    /**
+     * Update the snapshots of a batch of saved languages in every cv referencing them, with one bulk write.
+     *
+     * @param languages the saved languages.
+     */
+    public void updateLanguages(Collection<Language> languages) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Cv.class);
+        languages.forEach(language ->
+            addUpdateSnapshots(bulkOperations, LANGUAGE_SNAPSHOTS, language.getId(), language.getName(), language.getLevel())
+        );
+        execute(bulkOperations, languages);
+    }
+
+    /**
+     * Remove the snapshot of a deleted language from every cv referencing it.
+     *
+     * @param id the id of the deleted language.
+     */
+    public void removeLanguage(String id) {
+        removeSnapshots(LANGUAGE_SNAPSHOTS, id);
+    }
+
+    /**
+     * Remove the snapshots of a batch of deleted languages from every cv referencing them, with one bulk write.
+     *
+     * @param ids the ids of the deleted languages.
+     */
+    public void removeLanguages(Collection<String> ids) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Cv.class);
+        ids.forEach(id -> addRemoveSnapshots(bulkOperations, LANGUAGE_SNAPSHOTS, id));
+        execute(bulkOperations, ids);
+    }
+
+    private void updateSnapshots(String field, String id, String name, String level) {
+        log.debug("Request to update the {} of Cvs for : {}", field, id);
+        mongoTemplate.updateMulti(snapshotsQuery(field, id), updateSnapshot(field, id, name, level), Cv.class);
+    }
+
+    private void removeSnapshots(String field, String id) {
+        log.debug("Request to remove the {} of Cvs for : {}", field, id);
+        mongoTemplate.updateMulti(snapshotsQuery(field, id), pullSnapshot(field, id), Cv.class);
+    }
+
+    private static void addUpdateSnapshots(BulkOperations bulkOperations, String field, String id, String name, String level) {
+        bulkOperations.updateMulti(snapshotsQuery(field, id), updateSnapshot(field, id, name, level));
+    }
+
+    private static void addRemoveSnapshots(BulkOperations bulkOperations, String field, String id) {
+        bulkOperations.updateMulti(snapshotsQuery(field, id), pullSnapshot(field, id));
+    }
+
+    private void execute(BulkOperations bulkOperations, Collection<?> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        log.debug("Request to patch the snapshots of Cvs for a batch of {}", batch.size());
+        bulkOperations.execute();
+    }
+
+    private static Query snapshotsQuery(String field, String id) {
+        return Query.query(Criteria.where(field + ".ref_id").is(id));
+    }
+
+    /**
+     * Every snapshot of the reference is updated, a cv may hold the same skill or language more than once.
+     */
+    private static Update updateSnapshot(String field, String id, String name, String level) {
+        return new Update()
+            .set(field + ".$[snapshot].name", name)
+            .set(field + ".$[snapshot].level", level)
+            .filterArray(Criteria.where("snapshot.ref_id").is(id));
+    }
+
+    private static Update pullSnapshot(String field, String id) {
+        return new Update().pull(field, Query.query(Criteria.where("ref_id").is(id)));
+    }
+
+    /**
+     * References sent by clients may only hold the id, the missing names are loaded with a single query.
+     */
+    private static <T> List<SkillSnapshot> snapshots(
+        List<T> references,
+        Function<T, String> getId,
+        Function<T, String> getName,
+        Function<Set<String>, Iterable<T>> findAllById,
+        Function<T, SkillSnapshot> toSnapshot
+    ) {
+        List<SkillSnapshot> snapshots = new ArrayList<>();
+        if (references == null) {
+            return snapshots;
+        }
+        Set<String> unresolvedIds = new HashSet<>();
+        for (T reference : references) {
+            if (reference != null && getId.apply(reference) != null && getName.apply(reference) == null) {
+                unresolvedIds.add(getId.apply(reference));
+            }
+        }
+        Map<String, T> resolved = new HashMap<>();
+        if (!unresolvedIds.isEmpty()) {
+            findAllById.apply(unresolvedIds).forEach(reference -> resolved.put(getId.apply(reference), reference));
+        }
+        for (T reference : references) {
+            if (reference == null || getId.apply(reference) == null) {
+                continue;
+            }
+            T source = resolved.getOrDefault(getId.apply(reference), reference);
+            if (getName.apply(source) != null) {
+                snapshots.add(toSnapshot.apply(source));
+            }
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,159 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.Cv;
+import com.cv.maker.domain.SkillSnapshot;
+import com.cv.maker.service.dto.CvSummaryDTO;
+import com.mongodb.DBRef;
+import java.util.*;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for the {@link CvSummaryDTO} list views of the {@link Cv}.
+ * <p>
+ * Summaries are read with a field projection on the {@code cv} collection, skills and languages come from the embedded
+ * snapshots, and the only reference ever resolved is the collaborator, when its name is requested.
+ */
+@Service
+public class CvSummaryService {
+
+    /** summary field -> cv document field. */
+    private static final Map<String, String> FIELDS = Map.of(
+        "title",
+        "title",
+        "address",
+        "address",
+        "phoneNumber",
+        "phone_number",
+        "postalCode",
+        "postal_code",
+        "email",
+        "email",
+        "collaboratorName",
+        "collaborator",
+        "skills",
+        CvSnapshotService.SKILL_SNAPSHOTS,
+        "languages",
+        CvSnapshotService.LANGUAGE_SNAPSHOTS,
+        "imageUrl",
+        "image"
+    );
+
+    public static final Set<String> DEFAULT_FIELDS = Set.of("title", "collaboratorName", "skills");
+
+    private final Logger log = LoggerFactory.getLogger(CvSummaryService.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final CvAggregateLoader cvAggregateLoader;
+
+    public CvSummaryService(MongoTemplate mongoTemplate, CvAggregateLoader cvAggregateLoader) {
+        this.mongoTemplate = mongoTemplate;
+        this.cvAggregateLoader = cvAggregateLoader;
+    }
+
+    /**
+     * @param field a summary field.
+     * @return whether the field can be requested.
+     */
+    public static boolean isSummaryField(String field) {
+        return FIELDS.containsKey(field);
+    }
+
+    /**
+     * Get a page of cv summaries.
+     *
+     * @param pageable the pagination information.
+     * @param fields the summary fields to read, the id is always read.
+     * @return the page of summaries.
+     */
+    public Page<CvSummaryDTO> findAll(Pageable pageable, Set<String> fields) {
+        log.debug("Request to get a page of Cv summaries with fields : {}", fields);
+        Document projection = new Document("_id", 1);
+        fields.forEach(field -> projection.append(FIELDS.get(field), 1));
+        Page<Document> documents = cvAggregateLoader.findPage(Cv.class, pageable, projection);
+        Map<String, String> collaboratorNames = fields.contains("collaboratorName")
+            ? findCollaboratorNames(documents.getContent())
+            : Collections.emptyMap();
+        return documents.map(document -> toSummary(document, fields, collaboratorNames));
+    }
+
+    private CvSummaryDTO toSummary(Document document, Set<String> fields, Map<String, String> collaboratorNames) {
+        CvSummaryDTO summary = new CvSummaryDTO();
+        summary.setId(document.get("_id").toString());
+        summary.setTitle(document.getString("title"));
+        summary.setAddress(document.getString("address"));
+        summary.setEmail(document.getString("email"));
+        Object phoneNumber = document.get("phone_number");
+        if (phoneNumber instanceof Number) {
+            summary.setPhoneNumber(((Number) phoneNumber).longValue());
+        }
+        Object postalCode = document.get("postal_code");
+        if (postalCode instanceof Number) {
+            summary.setPostalCode(((Number) postalCode).intValue());
+        }
+        DBRef collaborator = document.get("collaborator", DBRef.class);
+        if (collaborator != null) {
+            summary.setCollaboratorName(collaboratorNames.get(collaborator.getId().toString()));
+        }
+        if (fields.contains("skills")) {
+            summary.setSkills(readSnapshots(document, CvSnapshotService.SKILL_SNAPSHOTS));
+        }
+        if (fields.contains("languages")) {
+            summary.setLanguages(readSnapshots(document, CvSnapshotService.LANGUAGE_SNAPSHOTS));
+        }
+        DBRef image = document.get("image", DBRef.class);
+        if (image != null) {
+            summary.setImageUrl("/api/file-entries/" + image.getId() + "/data");
+        }
+        return summary;
+    }
+
+    private List<SkillSnapshot> readSnapshots(Document document, String field) {
+        List<SkillSnapshot> snapshots = new ArrayList<>();
+        List<?> values = document.get(field, List.class);
+        if (values != null) {
+            for (Object value : values) {
+                snapshots.add(mongoTemplate.getConverter().read(SkillSnapshot.class, (Document) value));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Collaborator names are resolved with one query on the collaborators and one on their users, for the whole page.
+     */
+    private Map<String, String> findCollaboratorNames(List<Document> cvs) {
+        Set<Object> collaboratorIds = new HashSet<>();
+        cvs.forEach(cv -> Optional.ofNullable(cv.get("collaborator", DBRef.class)).ifPresent(ref -> collaboratorIds.add(ref.getId())));
+        if (collaboratorIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> userIdsByCollaborator = new HashMap<>();
+        for (Document collaborator : mongoTemplate
+            .getCollection("collaborator")
+            .find(new Document("_id", new Document("$in", new ArrayList<>(collaboratorIds))))
+            .projection(new Document("user", 1))) {
+            DBRef user = collaborator.get("user", DBRef.class);
+            if (user != null) {
+                userIdsByCollaborator.put(collaborator.get("_id").toString(), user.getId());
+            }
+        }
+        Map<Object, String> namesByUser = new HashMap<>();
+        for (Document user : mongoTemplate
+            .getCollection("jhi_user")
+            .find(new Document("_id", new Document("$in", new ArrayList<>(userIdsByCollaborator.values()))))
+            .projection(new Document("first_name", 1).append("last_name", 1))) {
+            String name = (Objects.toString(user.getString("first_name"), "") + " " + Objects.toString(user.getString("last_name"), "")).trim();
+            namesByUser.put(user.get("_id"), name);
+        }
+        Map<String, String> names = new HashMap<>();
+        userIdsByCollaborator.forEach((collaboratorId, userId) -> names.put(collaboratorId, namesByUser.get(userId)));
+        return names;
+    }
+}
@@ -0,0 +1,88 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.Collaborator;
+import com.cv.maker.domain.Cv;
+import com.cv.maker.domain.Experience;
+import com.cv.maker.domain.Language;
+import com.cv.maker.domain.Skill;
+import com.cv.maker.domain.Study;
+import com.cv.maker.domain.User;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link com.cv.maker.domain.CvView} read model and the last modified date of the cvs current with the save and
+ * delete events of the cvs and of everything they reference. The views are refreshed asynchronously by the
+ * {@link CvViewService}.
+ */
+@Component
+public class CvViewEventListener extends AbstractMongoEventListener<Object> {
+
+    private static final Map<Class<?>, String> REFERENCE_FIELDS = Map.of(
+        Skill.class,
+        CvViewService.SKILLS,
+        Experience.class,
+        CvViewService.EXPERIENCES,
+        Study.class,
+        CvViewService.STUDIES,
+        Language.class,
+        CvViewService.LANGUAGES,
+        Collaborator.class,
+        CvViewService.COLLABORATOR
+    );
+
+    private final CvViewService cvViewService;
+
+    public CvViewEventListener(CvViewService cvViewService) {
+        this.cvViewService = cvViewService;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof Cv) {
+            cvViewService.refreshCvs(Collections.singletonList(((Cv) source).getId()));
+        } else if (source instanceof User) {
+            refreshCvs(cvViewService.touchUsers(Collections.singletonList(((User) source).getId())));
+        } else if (REFERENCE_FIELDS.containsKey(source.getClass())) {
+            Object id = event.getDocument() == null ? null : event.getDocument().get("_id");
+            if (id != null) {
+                String field = REFERENCE_FIELDS.get(source.getClass());
+                refreshCvs(cvViewService.touchReferencing(field, Collections.singletonList(id.toString())));
+            }
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        Class<?> type = event.getType();
+        if (!Cv.class.equals(type) && !User.class.equals(type) && !REFERENCE_FIELDS.containsKey(type)) {
+            return;
+        }
+        Optional<List<String>> ids = CvSkillIndexEventListener.deletedIds(event.getSource());
+        if (ids.isEmpty()) {
+            if (!Cv.class.equals(type)) {
+                cvViewService.touchAll();
+            }
+            cvViewService.rebuild();
+        } else if (Cv.class.equals(type)) {
+            cvViewService.removeCvs(ids.get());
+        } else if (User.class.equals(type)) {
+            refreshCvs(cvViewService.touchUsers(ids.get()));
+        } else {
+            refreshCvs(cvViewService.touchReferencing(REFERENCE_FIELDS.get(type), ids.get()));
+        }
+    }
+
+    private void refreshCvs(List<String> cvIds) {
+        if (!cvIds.isEmpty()) {
+            cvViewService.refreshCvs(cvIds);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.Collaborator;
+import com.cv.maker.domain.Cv;
+import com.cv.maker.domain.CvView;
+import com.cv.maker.domain.User;
+import com.cv.maker.repository.CvViewRepository;
+import com.mongodb.ErrorCategory;
+import java.time.Instant;
+import java.util.*;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service maintaining the {@link CvView} read model.
+ * <p>
+ * Views are refreshed asynchronously whenever a cv or one of its references is saved or deleted, see
+ * {@link CvViewEventListener}, and a missing view is built on the first read. The last modified date of the cvs
+ * referencing a saved or deleted entity is bumped synchronously, as it is the version of the cv served to clients.
+ */
+@Service
+public class CvViewService {
+
+    static final String SKILLS = "skills";
+
+    static final String EXPERIENCES = "experiences";
+
+    static final String STUDIES = "studies";
+
+    static final String LANGUAGES = "languages";
+
+    static final String COLLABORATOR = "collaborator";
+
+    private static final int REFRESH_BATCH_SIZE = 100;
+
+    private final Logger log = LoggerFactory.getLogger(CvViewService.class);
+
+    private final CvViewRepository cvViewRepository;
+
+    private final CvAggregateLoader cvAggregateLoader;
+
+    private final MongoTemplate mongoTemplate;
+
+    public CvViewService(CvViewRepository cvViewRepository, CvAggregateLoader cvAggregateLoader, MongoTemplate mongoTemplate) {
+        this.cvViewRepository = cvViewRepository;
+        this.cvAggregateLoader = cvAggregateLoader;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Get all the cv views.
+     *
+     * @param pageable the pagination information.
+     * @return the list of views.
+     */
+    public Page<CvView> findAll(Pageable pageable) {
+        log.debug("Request to get all CvViews");
+        return cvViewRepository.findAll(pageable);
+    }
+
+    /**
+     * Get the view of the "id" cv, building it if it is not there yet.
+     *
+     * @param id the id of the cv.
+     * @return the view.
+     */
+    public Optional<CvView> findOne(String id) {
+        log.debug("Request to get CvView : {}", id);
+        return cvViewRepository.findById(id).or(() -> refresh(Collections.singletonList(id)).stream().findFirst());
+    }
+
+    /**
+     * Refresh the views of cvs.
+     *
+     * @param cvIds the ids of the cvs.
+     */
+    @Async
+    public void refreshCvs(Collection<String> cvIds) {
+        refresh(new ArrayList<>(cvIds));
+    }
+
+    /**
+     * Bump the last modified date of the cvs referencing entities, so that their versions change with their references.
+     *
+     * @param field the reference field of the cvs, one of {@link #SKILLS}, {@link #EXPERIENCES}, {@link #STUDIES},
+     * {@link #LANGUAGES} or {@link #COLLABORATOR}.
+     * @param ids the ids of the referenced entities.
+     * @return the ids of the touched cvs.
+     */
+    public List<String> touchReferencing(String field, Collection<String> ids) {
+        return touch(findReferencingIds(Cv.class, field, ids));
+    }
+
+    /**
+     * Bump the last modified date of the cvs of the collaborators of users.
+     *
+     * @param userIds the ids of the users.
+     * @return the ids of the touched cvs.
+     */
+    public List<String> touchUsers(Collection<String> userIds) {
+        List<String> collaboratorIds = findReferencingIds(Collaborator.class, "user", userIds);
+        return collaboratorIds.isEmpty() ? Collections.emptyList() : touchReferencing(COLLABORATOR, collaboratorIds);
+    }
+
+    /**
+     * Bump the last modified date of all the cvs, when the changes can't be resolved to cvs.
+     */
+    public void touchAll() {
+        mongoTemplate.updateMulti(new Query(), new Update().currentDate("lastModifiedDate"), Cv.class);
+    }
+
+    /**
+     * Remove the views of deleted cvs.
+     *
+     * @param cvIds the ids of the deleted cvs.
+     */
+    @Async
+    public void removeCvs(Collection<String> cvIds) {
+        log.debug("Request to delete CvViews : {}", cvIds);
+        cvViewRepository.deleteAllById(cvIds);
+    }
+
+    /**
+     * Rebuild all the views, when the changes can't be resolved to cvs.
+     */
+    @Async
+    public void rebuild() {
+        rebuildAll();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (cvViewRepository.count() != mongoTemplate.getCollection(mongoTemplate.getCollectionName(Cv.class)).countDocuments()) {
+            rebuildAll();
+        }
+    }
+
+    private void rebuildAll() {
+        log.debug("Request to rebuild all CvViews");
+        Instant start = Instant.now();
+        List<String> batch = new ArrayList<>();
+        for (Document document : mongoTemplate
+            .getCollection(mongoTemplate.getCollectionName(Cv.class))
+            .find()
+            .projection(new Document("_id", 1))
+            .batchSize(REFRESH_BATCH_SIZE)) {
+            batch.add(document.get("_id").toString());
+            if (batch.size() == REFRESH_BATCH_SIZE) {
+                refresh(batch);
+                batch.clear();
+            }
+        }
+        refresh(batch);
+        // views not refreshed by the rebuild belong to deleted cvs
+        mongoTemplate.remove(Query.query(Criteria.where("refreshed_date").lt(start)), CvView.class);
+    }
+
+    private List<String> touch(List<String> cvIds) {
+        if (!cvIds.isEmpty()) {
+            mongoTemplate.updateMulti(
+                Query.query(Criteria.where("id").in(cvIds)),
+                new Update().currentDate("lastModifiedDate"),
+                Cv.class
+            );
+        }
+        return cvIds;
+    }
+
+    /**
+     * Refresh the views of cvs. Refreshes run concurrently, so a view is only written if it was built from a version of its cv
+     * at least as recent as the version of the stored view.
+     *
+     * @param cvIds the ids of the cvs.
+     * @return the refreshed views.
+     */
+    List<CvView> refresh(List<String> cvIds) {
+        if (cvIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        log.debug("Request to refresh CvViews : {}", cvIds);
+        List<Cv> cvs = cvAggregateLoader.findCvsByIds(cvIds);
+        Instant now = Instant.now();
+        List<CvView> views = new ArrayList<>();
+        Set<String> deletedIds = new HashSet<>(cvIds);
+        BulkOperations upserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CvView.class);
+        for (Cv cv : cvs) {
+            CvView view = toView(cv);
+            view.setRefreshedDate(now);
+            view.setCvLastModifiedDate(cv.getLastModifiedDate() == null ? Instant.EPOCH : cv.getLastModifiedDate());
+            views.add(view);
+            deletedIds.remove(cv.getId());
+            Document document = new Document();
+            mongoTemplate.getConverter().write(view, document);
+            document.remove("_id");
+            Query notNewer = Query.query(
+                Criteria
+                    .where("_id")
+                    .is(view.getId())
+                    .orOperator(
+                        Criteria.where("cv_last_modified_date").lte(view.getCvLastModifiedDate()),
+                        Criteria.where("cv_last_modified_date").exists(false)
+                    )
+            );
+            upserts.upsert(notNewer, Update.fromDocument(new Document("$set", document)));
+        }
+        if (!deletedIds.isEmpty()) {
+            cvViewRepository.deleteAllById(deletedIds);
+        }
+        if (!views.isEmpty()) {
+            try {
+                upserts.execute();
+            } catch (BulkOperationException e) {
+                // A view matching no condition is newer than the refreshed one: its upsert fails on the duplicate id
+                if (e.getErrors().stream().anyMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)) {
+                    throw e;
+                }
+            }
+        }
+        return views;
+    }
+
+    /**
+     * References to ids that are valid object ids are stored with an object id, any other id is stored as is.
+     */
+    private List<String> findReferencingIds(Class<?> entityClass, String field, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> referenceIds = new ArrayList<>();
+        for (String id : ids) {
+            referenceIds.add(id);
+            if (ObjectId.isValid(id)) {
+                referenceIds.add(new ObjectId(id));
+            }
+        }
+        List<String> referencingIds = new ArrayList<>();
+        for (Document document : mongoTemplate
+            .getCollection(mongoTemplate.getCollectionName(entityClass))
+            .find(new Document(field + ".$id", new Document("$in", referenceIds)))
+            .projection(new Document("_id", 1))) {
+            referencingIds.add(document.get("_id").toString());
+        }
+        return referencingIds;
+    }
+
+    private static CvView toView(Cv cv) {
+        CvView view = new CvView();
+        view.setId(cv.getId());
+        view.setTitle(cv.getTitle());
+        view.setAddress(cv.getAddress());
+        view.setPhoneNumber(cv.getPhoneNumber());
+        view.setPostalCode(cv.getPostalCode());
+        view.setEmail(cv.getEmail());
+        view.setSkills(cv.getSkills());
+        view.setExperiences(cv.getExperiences());
+        view.setStudies(cv.getStudies());
+        view.setLanguages(cv.getLanguages());
+        if (cv.getImageReference() != null) {
+            view.setImageId(cv.getImageReference().getId());
+        }
+        Collaborator collaborator = cv.getCollaborator();
+        if (collaborator != null) {
+            view.setCollaboratorId(collaborator.getId());
+            User user = collaborator.getUser();
+            if (user != null) {
+                view.setCollaboratorName((Objects.toString(user.getFirstName(), "") + " " + Objects.toString(user.getLastName(), "")).trim());
+            }
+        }
+        return view;
+    }
+}
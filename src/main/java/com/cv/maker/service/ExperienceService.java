@@ -2,6 +2,9 @@ package com.cv.maker.service;
 
 import com.cv.maker.domain.Experience;
 import com.cv.maker.repository.ExperienceRepository;
+import com.cv.maker.service.dto.BatchItemResult;
+import com.cv.maker.service.dto.KeysetPage;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,8 +22,22 @@ public class ExperienceService {
 
     private final ExperienceRepository experienceRepository;
 
-    public ExperienceService(ExperienceRepository experienceRepository) {
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final PartialUpdateService partialUpdateService;
+
+    private final BatchWriteService batchWriteService;
+
+    public ExperienceService(
+        ExperienceRepository experienceRepository,
+        KeysetPaginationService keysetPaginationService,
+        PartialUpdateService partialUpdateService,
+        BatchWriteService batchWriteService
+    ) {
         this.experienceRepository = experienceRepository;
+        this.keysetPaginationService = keysetPaginationService;
+        this.partialUpdateService = partialUpdateService;
+        this.batchWriteService = batchWriteService;
     }
 
     /**
@@ -43,25 +60,29 @@ public class ExperienceService {
     public Optional<Experience> partialUpdate(Experience experience) {
         log.debug("Request to partially update Experience : {}", experience);
 
-        return experienceRepository
-            .findById(experience.getId())
-            .map(existingExperience -> {
-                if (experience.getStartDate() != null) {
-                    existingExperience.setStartDate(experience.getStartDate());
-                }
-                if (experience.getEndDate() != null) {
-                    existingExperience.setEndDate(experience.getEndDate());
-                }
-                if (experience.getCompany() != null) {
-                    existingExperience.setCompany(experience.getCompany());
-                }
-                if (experience.getPosition() != null) {
-                    existingExperience.setPosition(experience.getPosition());
-                }
-
-                return existingExperience;
-            })
-            .map(experienceRepository::save);
+        return partialUpdateService.partialUpdate(experience, "startDate", "endDate", "company", "position");
+    }
+
+    /**
+     * Create a batch of experiences.
+     *
+     * @param experiences the entities to create.
+     * @return the outcome of each entity.
+     */
+    public List<BatchItemResult<Experience>> createAll(List<Experience> experiences) {
+        log.debug("Request to create a batch of Experiences : {}", experiences.size());
+        return batchWriteService.createAll(Experience.class, experiences);
+    }
+
+    /**
+     * Update a batch of experiences.
+     *
+     * @param experiences the entities to update.
+     * @return the outcome of each entity.
+     */
+    public List<BatchItemResult<Experience>> updateAll(List<Experience> experiences) {
+        log.debug("Request to update a batch of Experiences : {}", experiences.size());
+        return batchWriteService.updateAll(Experience.class, experiences);
     }
 
     /**
@@ -75,6 +96,18 @@ public class ExperienceService {
         return experienceRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of the experiences after a cursor.
+     *
+     * @param cursor the cursor of the slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice of entities.
+     */
+    public KeysetPage<Experience> findAll(String cursor, int size) {
+        log.debug("Request to get a slice of Experiences after cursor : {}", cursor);
+        return keysetPaginationService.findAll(Experience.class, cursor, size);
+    }
+
     /**
      * Get one experience by id.
      *
@@ -95,4 +128,15 @@ public class ExperienceService {
         log.debug("Request to delete Experience : {}", id);
         experienceRepository.deleteById(id);
     }
+
+    /**
+     * Delete a batch of experiences.
+     *
+     * @param ids the ids of the entities.
+     * @return the outcome of each id.
+     */
+    public List<BatchItemResult<Experience>> deleteAll(List<String> ids) {
+        log.debug("Request to delete a batch of Experiences : {}", ids);
+        return batchWriteService.deleteAll(Experience.class, ids);
+    }
 }
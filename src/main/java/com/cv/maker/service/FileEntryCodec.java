@@ -0,0 +1,94 @@
+package com.cv.maker.service;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.DeflaterInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The codecs compressing the stored {@link FileEntryContent}s, named after their HTTP {@code Content-Encoding}, so that a
+ * content can be served as stored to the clients accepting its encoding.
+ */
+public enum FileEntryCodec {
+    /**
+     * The zlib format of {@link java.util.zip.Deflater}, which is the {@code deflate} content encoding of HTTP.
+     */
+    DEFLATE("deflate") {
+        @Override
+        public InputStream encode(InputStream content) {
+            return new DeflaterInputStream(content);
+        }
+
+        @Override
+        public InputStream decode(InputStream encoded) {
+            return new InflaterInputStream(encoded);
+        }
+    };
+
+    /**
+     * The content types worth compressing, besides the {@code text/*}, {@code +xml} and {@code +json} types.
+     */
+    private static final Set<String> COMPRESSIBLE_TYPES = Set.of(
+        "application/json",
+        "application/xml",
+        "application/javascript",
+        "application/pdf",
+        "application/rtf",
+        "image/bmp"
+    );
+
+    private final String contentEncoding;
+
+    FileEntryCodec(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Compress a content while it is read.
+     *
+     * @param content the content.
+     * @return the stream of the compressed content.
+     */
+    public abstract InputStream encode(InputStream content);
+
+    /**
+     * Decompress a content while it is read.
+     *
+     * @param encoded the compressed content.
+     * @return the stream of the content.
+     */
+    public abstract InputStream decode(InputStream encoded);
+
+    /**
+     * Get the codec compressing a content type.
+     *
+     * @param contentType the content type, or {@code null} if unknown.
+     * @return the codec, or empty if the content type isn't worth compressing.
+     */
+    public static Optional<FileEntryCodec> forContentType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        boolean compressible =
+            type.startsWith("text/") || type.endsWith("+xml") || type.endsWith("+json") || COMPRESSIBLE_TYPES.contains(type);
+        return compressible ? Optional.of(DEFLATE) : Optional.empty();
+    }
+
+    /**
+     * Get the codec of a content encoding.
+     *
+     * @param contentEncoding the content encoding.
+     * @return the codec, or empty if no codec has this content encoding.
+     */
+    public static Optional<FileEntryCodec> fromContentEncoding(String contentEncoding) {
+        return Arrays.stream(values()).filter(codec -> codec.contentEncoding.equals(contentEncoding)).findFirst();
+    }
+}
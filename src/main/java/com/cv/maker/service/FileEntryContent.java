@@ -0,0 +1,208 @@
+package com.cv.maker.service;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+/**
+ * The content of a {@link com.cv.maker.domain.FileEntry} stored in GridFS, as a resource that can be streamed.
+ * <p>
+ * Each {@link #getInputStream()} call opens a new download stream, so the content can be read more than once, for
+ * instance once per requested byte range, without ever being copied in memory. A content cached by the
+ * {@link FileEntryDiskCache} is read from its local file instead, by a stream that skips to the requested ranges by moving
+ * the position of its file channel rather than by reading the bytes before them.
+ * A content stored compressed by a {@link FileEntryCodec} is decompressed while it is read, unless it is read
+ * {@link #encoded()}.
+ */
+public class FileEntryContent extends AbstractResource {
+
+    /**
+     * The metadata field holding the content type, as written by {@link GridFsTemplate}.
+     */
+    private static final String CONTENT_TYPE = "_contentType";
+
+    /**
+     * The metadata field holding the hex SHA-256 digest of the content.
+     */
+    static final String DIGEST = "sha256";
+
+    /**
+     * The metadata field holding the content encoding of the codec compressing the stored content, if any.
+     */
+    static final String ENCODING = "encoding";
+
+    /**
+     * The metadata field holding the size of the content before it was compressed.
+     */
+    static final String SIZE = "size";
+
+    private final GridFSFile file;
+
+    private final GridFsTemplate gridFsTemplate;
+
+    private final Path cachedFile;
+
+    private final boolean decoded;
+
+    private final String contentType;
+
+    FileEntryContent(GridFSFile file, GridFsTemplate gridFsTemplate) {
+        this(file, gridFsTemplate, null, true, null);
+    }
+
+    private FileEntryContent(GridFSFile file, GridFsTemplate gridFsTemplate, Path cachedFile, boolean decoded, String contentType) {
+        this.file = file;
+        this.gridFsTemplate = gridFsTemplate;
+        this.cachedFile = cachedFile;
+        this.decoded = decoded;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Get this content read from a local copy of the stored content.
+     *
+     * @param cachedFile the local copy of the stored content.
+     * @return the content.
+     */
+    FileEntryContent withCachedFile(Path cachedFile) {
+        return new FileEntryContent(file, gridFsTemplate, cachedFile, decoded, contentType);
+    }
+
+    /**
+     * Get this content with the content type of the {@link com.cv.maker.domain.FileEntry} it is read for. A stored content
+     * is shared by the identical files, its GridFS metadata only hold the content type of the first of them.
+     *
+     * @param contentType the content type of the fileEntry, or {@code null} if unknown.
+     * @return the content.
+     */
+    FileEntryContent withContentType(String contentType) {
+        return new FileEntryContent(file, gridFsTemplate, cachedFile, decoded, contentType);
+    }
+
+    /**
+     * Get this content as it is stored, compressed with the codec of its {@link #getContentEncoding() content encoding}.
+     *
+     * @return the stored content.
+     */
+    public FileEntryContent encoded() {
+        return new FileEntryContent(file, gridFsTemplate, cachedFile, false, contentType);
+    }
+
+    /**
+     * Get the content type of the content: the one of its fileEntry, or the one it was stored with when the fileEntry has
+     * none.
+     *
+     * @return the content type, or {@code null} if unknown.
+     */
+    public String getContentType() {
+        if (contentType != null) {
+            return contentType;
+        }
+        Document metadata = file.getMetadata();
+        return metadata == null ? null : metadata.getString(CONTENT_TYPE);
+    }
+
+    /**
+     * Get the SHA-256 digest of the content, computed while it was stored.
+     *
+     * @return the hex digest.
+     */
+    public String getDigest() {
+        Document metadata = file.getMetadata();
+        return metadata == null ? null : metadata.getString(DIGEST);
+    }
+
+    /**
+     * Get the id of the GridFS file holding the content. A stored file is never modified, so the id addresses the content as
+     * it is stored, with its encoding.
+     *
+     * @return the id of the file, or {@code null} if it isn't an object id.
+     */
+    public ObjectId getFileId() {
+        return file.getId().isObjectId() ? file.getObjectId() : null;
+    }
+
+    /**
+     * Get the content encoding of the stored content.
+     *
+     * @return the content encoding, or {@code null} if the content is stored as is.
+     */
+    public String getContentEncoding() {
+        return codec().map(FileEntryCodec::getContentEncoding).orElse(null);
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        if (decoded && codec().isPresent()) {
+            return file.getMetadata().get(SIZE, Number.class).longValue();
+        }
+        return file.getLength();
+    }
+
+    @Override
+    public long lastModified() {
+        return file.getUploadDate().getTime();
+    }
+
+    @Override
+    public String getFilename() {
+        return file.getFilename();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        InputStream stored = openStored();
+        Optional<FileEntryCodec> codec = codec();
+        return decoded && codec.isPresent() ? codec.get().decode(stored) : stored;
+    }
+
+    @Override
+    public String getDescription() {
+        return "GridFS content [" + file.getId() + "]";
+    }
+
+    private InputStream openStored() throws IOException {
+        if (cachedFile != null) {
+            try {
+                return openCachedFile();
+            } catch (NoSuchFileException e) {
+                // Evicted from the cache in the meantime
+            }
+        }
+        return gridFsTemplate.getResource(file).getInputStream();
+    }
+
+    private InputStream openCachedFile() throws IOException {
+        FileChannel channel = FileChannel.open(cachedFile, StandardOpenOption.READ);
+        return new FilterInputStream(Channels.newInputStream(channel)) {
+            @Override
+            public long skip(long n) throws IOException {
+                long position = channel.position();
+                long skipped = Math.max(Math.min(n, channel.size() - position), 0);
+                channel.position(position + skipped);
+                return skipped;
+            }
+        };
+    }
+
+    private Optional<FileEntryCodec> codec() {
+        Document metadata = file.getMetadata();
+        return Optional.ofNullable(metadata).map(found -> found.getString(ENCODING)).flatMap(FileEntryCodec::fromContentEncoding);
+    }
+}
@@ -0,0 +1,137 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.FileEntry;
+import com.cv.maker.repository.FileEntryRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores the data of the saved {@link FileEntry} entities with the {@link FileEntryContentService}, rendering again the
+ * renditions of a replaced image, and releases their content when they are deleted, along with their renditions.
+ */
+@Component
+public class FileEntryContentEventListener extends AbstractMongoEventListener<FileEntry> {
+
+    /**
+     * The fileEntries matched by the delete in progress on the current thread, read before they are deleted.
+     */
+    private final ThreadLocal<List<Document>> deleting = new ThreadLocal<>();
+
+    /**
+     * The digest replaced by the data stored for the save in progress on the current thread, empty for a new fileEntry,
+     * released after the save.
+     */
+    private final ThreadLocal<Optional<String>> replacing = new ThreadLocal<>();
+
+    private final FileEntryContentService fileEntryContentService;
+
+    private final FileEntryRenditionService fileEntryRenditionService;
+
+    private final FileEntryRepository fileEntryRepository;
+
+    private final MongoTemplate mongoTemplate;
+
+    public FileEntryContentEventListener(
+        FileEntryContentService fileEntryContentService,
+        FileEntryRenditionService fileEntryRenditionService,
+        FileEntryRepository fileEntryRepository,
+        MongoTemplate mongoTemplate
+    ) {
+        this.fileEntryContentService = fileEntryContentService;
+        this.fileEntryRenditionService = fileEntryRenditionService;
+        this.fileEntryRepository = fileEntryRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<FileEntry> event) {
+        replacing.remove();
+        FileEntry fileEntry = event.getSource();
+        if (fileEntry.getData() == null && fileEntry.getDigest() != null) {
+            return;
+        }
+        Optional<FileEntry> previous = Optional.ofNullable(fileEntry.getId()).flatMap(fileEntryRepository::findMetadataById);
+        if (fileEntry.getData() != null) {
+            byte[] data = fileEntry.getData();
+            fileEntry.setDigest(fileEntryContentService.store(data));
+            fileEntry.setContentType(FileEntryContentService.guessContentType(data));
+            fileEntry.setSize((long) data.length);
+            replacing.set(previous.map(FileEntry::getDigest));
+        } else {
+            // A fileEntry saved without data keeps its content
+            previous.ifPresent(found -> {
+                fileEntry.setDigest(found.getDigest());
+                fileEntry.setContentType(found.getContentType());
+                fileEntry.setSize(found.getSize());
+            });
+        }
+        // A replaced fileEntry keeps its created date, and remains a rendition of its original
+        previous.ifPresent(found -> {
+            fileEntry.setCreatedDate(found.getCreatedDate());
+            fileEntry.setOriginalId(found.getOriginalId());
+            fileEntry.setRendition(found.getRendition());
+        });
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<FileEntry> event) {
+        Optional<String> replaced = replacing.get();
+        replacing.remove();
+        if (replaced == null) {
+            return;
+        }
+        // The replaced content is released only once the new one is saved, a failed save keeping it
+        replaced.ifPresent(digest -> fileEntryContentService.release(List.of(digest)));
+        FileEntry fileEntry = event.getSource();
+        if (fileEntry.getOriginalId() != null) {
+            return;
+        }
+        if (replaced.isPresent()) {
+            if (replaced.get().equals(fileEntry.getDigest())) {
+                return;
+            }
+            // The renditions of the replaced content are outdated
+            fileEntryRenditionService.deleteRenditions(List.of(fileEntry.getId()));
+        }
+        fileEntryRenditionService.renderAsync(fileEntry.getId(), fileEntry.getContentType());
+    }
+
+    @Override
+    public void onBeforeDelete(BeforeDeleteEvent<FileEntry> event) {
+        List<Document> fileEntries = new ArrayList<>();
+        mongoTemplate
+            .getCollection(event.getCollectionName())
+            .find(event.getSource())
+            .projection(new Document("digest", 1))
+            .into(fileEntries);
+        deleting.set(fileEntries);
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<FileEntry> event) {
+        List<Document> fileEntries = deleting.get();
+        deleting.remove();
+        if (fileEntries == null || fileEntries.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        List<String> digests = new ArrayList<>();
+        for (Document fileEntry : fileEntries) {
+            ids.add(fileEntry.get("_id").toString());
+            if (fileEntry.getString("digest") != null) {
+                digests.add(fileEntry.getString("digest"));
+            }
+        }
+        fileEntryContentService.release(digests);
+        fileEntryRenditionService.deleteRenditions(ids);
+    }
+}
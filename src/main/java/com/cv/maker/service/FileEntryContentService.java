@@ -0,0 +1,265 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.FileEntry;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoGridFSException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.net.URLConnection;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.data.mongodb.gridfs.GridFsUpload;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Service storing the content of the {@link FileEntry} entities in GridFS.
+ * <p>
+ * The contents are split in chunks, so that they are never held whole in memory when they are written from a stream or read
+ * as a stream, and are addressed by their SHA-256 digest: identical contents are stored once, with the count of the
+ * fileEntries referencing them, and are deleted when the last of them releases its reference.
+ */
+@Service
+public class FileEntryContentService {
+
+    /**
+     * The collection of the GridFS files, in the default bucket used by {@link GridFsTemplate}.
+     */
+    private static final String FILES_COLLECTION = "fs.files";
+
+    /**
+     * The collection of the GridFS chunks, in the default bucket used by {@link GridFsTemplate}.
+     */
+    private static final String CHUNKS_COLLECTION = "fs.chunks";
+
+    private static final String DIGEST = "metadata." + FileEntryContent.DIGEST;
+
+    private static final String REF_COUNT = "metadata.ref_count";
+
+    private static final String ENCODING = "metadata." + FileEntryContent.ENCODING;
+
+    private static final String SIZE = "metadata." + FileEntryContent.SIZE;
+
+    private final Logger log = LoggerFactory.getLogger(FileEntryContentService.class);
+
+    private final GridFsTemplate gridFsTemplate;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final FileEntryDiskCache fileEntryDiskCache;
+
+    private final DataSize maxSize;
+
+    private final boolean compression;
+
+    public FileEntryContentService(
+        GridFsTemplate gridFsTemplate,
+        MongoTemplate mongoTemplate,
+        FileEntryDiskCache fileEntryDiskCache,
+        FileEntryProperties fileEntryProperties
+    ) {
+        this.gridFsTemplate = gridFsTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.fileEntryDiskCache = fileEntryDiskCache;
+        this.maxSize = fileEntryProperties.getMaxSize();
+        this.compression = fileEntryProperties.getCompression().isEnabled();
+    }
+
+    /**
+     * Store a content and take a reference to it, to be released with {@link #release(Collection)}.
+     * <p>
+     * The content is streamed to GridFS one chunk at a time, while its size is checked against the maximum size and its
+     * SHA-256 digest is computed. A content of a compressible type is compressed on the way by its {@link FileEntryCodec}, the
+     * digest and the size being those of the uncompressed content. When an identical content is already stored, the new copy
+     * is dropped and the stored content gets one more reference.
+     *
+     * @param content the content to store, read until its end.
+     * @param contentType the content type of the content, or {@code null} if unknown.
+     * @return the digest of the content.
+     * @throws FileTooLargeException if the content is larger than the maximum size, in which case nothing is stored.
+     */
+    public String store(InputStream content, String contentType) {
+        MessageDigest digest = sha256();
+        SizeLimitedInputStream sizeLimited = new SizeLimitedInputStream(content, maxSize);
+        InputStream stored = new DigestInputStream(sizeLimited, digest);
+        Optional<FileEntryCodec> codec = compression ? FileEntryCodec.forContentType(contentType) : Optional.empty();
+        if (codec.isPresent()) {
+            stored = codec.get().encode(stored);
+        }
+        GridFsUpload.GridFsUploadBuilder<ObjectId> upload = GridFsUpload.fromStream(stored).filename("content");
+        if (contentType != null) {
+            upload.contentType(contentType);
+        }
+        ObjectId id;
+        try {
+            id = gridFsTemplate.store(upload.build());
+        } catch (MongoGridFSException e) {
+            throw SizeLimitedInputStream.translate(e);
+        }
+        String hexDigest = String.format("%064x", new BigInteger(1, digest.digest()));
+        log.debug("Request to store the content : {}", hexDigest);
+        MongoCollection<Document> files = mongoTemplate.getCollection(FILES_COLLECTION);
+        if (acquire(files, hexDigest)) {
+            deleteFile(id);
+            return hexDigest;
+        }
+        List<Bson> address = new ArrayList<>(List.of(Updates.set(DIGEST, hexDigest), Updates.set(REF_COUNT, 1)));
+        codec.ifPresent(found -> {
+            address.add(Updates.set(ENCODING, found.getContentEncoding()));
+            address.add(Updates.set(SIZE, sizeLimited.getSize()));
+        });
+        try {
+            files.updateOne(Filters.eq("_id", id), Updates.combine(address));
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                throw e;
+            }
+            // An identical content was stored concurrently
+            deleteFile(id);
+            acquire(files, hexDigest);
+        }
+        return hexDigest;
+    }
+
+    /**
+     * Store a content and take a reference to it, to be released with {@link #release(Collection)}. The content type is
+     * guessed from the content.
+     *
+     * @param content the content to store.
+     * @return the digest of the content.
+     * @throws FileTooLargeException if the content is larger than the maximum size, in which case nothing is stored.
+     */
+    public String store(byte[] content) {
+        return store(new ByteArrayInputStream(content), guessContentType(content));
+    }
+
+    /**
+     * Get the size of a content, without reading it.
+     *
+     * @param digest the digest of the content.
+     * @return the size of the content in bytes, before it was compressed, or empty if no content has this digest.
+     */
+    public Optional<Long> findSize(String digest) {
+        GridFSFile file = gridFsTemplate.findOne(Query.query(Criteria.where(DIGEST).is(digest)));
+        return Optional.ofNullable(file).map(found -> new FileEntryContent(found, gridFsTemplate).contentLength());
+    }
+
+    /**
+     * Get a content as a resource, to stream it. The content is read from the local disk cache once it is cached there.
+     *
+     * @param digest the digest of the content.
+     * @return the content, or empty if no content has this digest.
+     */
+    public Optional<FileEntryContent> findContent(String digest) {
+        log.debug("Request to get the content : {}", digest);
+        GridFSFile file = gridFsTemplate.findOne(Query.query(Criteria.where(DIGEST).is(digest)));
+        return Optional
+            .ofNullable(file)
+            .map(found -> new FileEntryContent(found, gridFsTemplate))
+            .map(content -> fileEntryDiskCache.get(content).map(content::withCachedFile).orElse(content));
+    }
+
+    /**
+     * Get the content of a fileEntry as a resource, to stream it, with the content type of the fileEntry.
+     *
+     * @param fileEntry the fileEntry, with at least its digest and its content type.
+     * @return the content, or empty if the fileEntry has no content.
+     */
+    public Optional<FileEntryContent> findContent(FileEntry fileEntry) {
+        if (fileEntry.getDigest() == null) {
+            return Optional.empty();
+        }
+        return findContent(fileEntry.getDigest()).map(content -> content.withContentType(fileEntry.getContentType()));
+    }
+
+    /**
+     * Read a whole content.
+     *
+     * @param digest the digest of the content.
+     * @return the content, or empty if no content has this digest.
+     */
+    public Optional<byte[]> read(String digest) {
+        return findContent(digest).map(FileEntryContentService::readAll);
+    }
+
+    /**
+     * Release references to contents, deleting the contents that aren't referenced anymore.
+     *
+     * @param digests the digests of the contents, once per released reference.
+     */
+    public void release(Collection<String> digests) {
+        log.debug("Request to release the contents : {}", digests);
+        MongoCollection<Document> files = mongoTemplate.getCollection(FILES_COLLECTION);
+        for (String digest : digests) {
+            Document file = files.findOneAndUpdate(
+                Filters.eq(DIGEST, digest),
+                Updates.inc(REF_COUNT, -1),
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER)
+            );
+            if (file != null && file.get("metadata", Document.class).getInteger("ref_count", 0) <= 0) {
+                // The content is only deleted if no reference was taken in the meantime
+                if (files.deleteOne(Filters.and(Filters.eq("_id", file.get("_id")), Filters.lte(REF_COUNT, 0))).getDeletedCount() > 0) {
+                    mongoTemplate.getCollection(CHUNKS_COLLECTION).deleteMany(Filters.eq("files_id", file.get("_id")));
+                    fileEntryDiskCache.remove(file.getObjectId("_id"));
+                }
+            }
+        }
+    }
+
+    private static boolean acquire(MongoCollection<Document> files, String digest) {
+        return files.findOneAndUpdate(Filters.eq(DIGEST, digest), Updates.inc(REF_COUNT, 1)) != null;
+    }
+
+    private void deleteFile(ObjectId id) {
+        gridFsTemplate.delete(Query.query(Criteria.where("_id").is(id)));
+    }
+
+    private static byte[] readAll(FileEntryContent resource) {
+        try (InputStream content = resource.getInputStream()) {
+            return StreamUtils.copyToByteArray(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String guessContentType(byte[] content) {
+        try {
+            return URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
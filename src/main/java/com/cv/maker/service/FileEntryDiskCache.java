@@ -0,0 +1,250 @@
+package com.cv.maker.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local disk tier of the {@link FileEntryContent}s, bounded by its total size.
+ * <p>
+ * The contents are cached as they are stored, named by the id of their GridFS file, which is never modified, so a cached
+ * file never goes stale: a content is written once to the cache directory, asynchronously on its first read, then served
+ * from the disk and the page cache until it is the least recently used content when room is needed, or until its GridFS file
+ * is deleted.
+ */
+@Service
+public class FileEntryDiskCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * The collection of the GridFS files, in the default bucket used by {@link org.springframework.data.mongodb.gridfs.GridFsTemplate}.
+     */
+    private static final String FILES_COLLECTION = "fs.files";
+
+    private final Logger log = LoggerFactory.getLogger(FileEntryDiskCache.class);
+
+    private final Path directory;
+
+    private final long maxSize;
+
+    private final Executor taskExecutor;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * The sizes of the cached files by file id, in least recently used order.
+     */
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The files being filled, and those of them removed in the meantime, which are dropped once filled. Guarded by this cache.
+     */
+    private final Set<String> filling = new HashSet<>();
+
+    private final Set<String> removed = new HashSet<>();
+
+    private long size;
+
+    public FileEntryDiskCache(
+        FileEntryProperties fileEntryProperties,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MongoTemplate mongoTemplate
+    ) {
+        this.directory = Paths.get(fileEntryProperties.getCache().getDirectory());
+        this.maxSize = fileEntryProperties.getCache().getMaxSize().toBytes();
+        this.taskExecutor = taskExecutor;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Index the files left in the cache directory by a previous run, deleting those whose GridFS file was deleted since.
+     */
+    @PostConstruct
+    public void load() {
+        if (maxSize <= 0) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            List<Path> cached;
+            try (Stream<Path> paths = Files.list(directory)) {
+                cached = paths.collect(Collectors.toList());
+            }
+            Map<Path, BasicFileAttributes> attributes = new LinkedHashMap<>();
+            for (Path path : cached) {
+                if (ObjectId.isValid(path.getFileName().toString())) {
+                    attributes.put(path, Files.readAttributes(path, BasicFileAttributes.class));
+                } else {
+                    // Partly written files, named with the temporary suffix
+                    Files.deleteIfExists(path);
+                }
+            }
+            Set<String> stored = storedFileIds(attributes.keySet());
+            for (Iterator<Path> paths = attributes.keySet().iterator(); paths.hasNext();) {
+                Path path = paths.next();
+                if (!stored.contains(path.getFileName().toString())) {
+                    Files.deleteIfExists(path);
+                    paths.remove();
+                }
+            }
+            synchronized (this) {
+                attributes
+                    .entrySet()
+                    .stream()
+                    .sorted(Comparator.comparing(entry -> entry.getValue().lastAccessTime()))
+                    .forEach(entry -> add(entry.getKey().getFileName().toString(), entry.getValue().size()));
+                evict();
+            }
+            log.debug("Loaded {} cached FileEntry contents, {} bytes", files.size(), size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get the cached file of a content, holding the content as it is stored. A content that isn't cached yet is cached
+     * asynchronously.
+     *
+     * @param content the content.
+     * @return the cached file, or empty if the content isn't cached.
+     */
+    public Optional<Path> get(FileEntryContent content) {
+        ObjectId fileId = content.getFileId();
+        if (maxSize <= 0 || fileId == null) {
+            return Optional.empty();
+        }
+        String name = fileId.toHexString();
+        FileEntryContent stored = content.encoded();
+        synchronized (this) {
+            if (files.get(name) != null) {
+                return Optional.of(directory.resolve(name));
+            }
+            if (stored.contentLength() > maxSize || !filling.add(name)) {
+                return Optional.empty();
+            }
+        }
+        taskExecutor.execute(() -> fill(name, stored));
+        return Optional.empty();
+    }
+
+    /**
+     * Remove a content from the cache, once its GridFS file is deleted. A content being filled is dropped once filled.
+     *
+     * @param fileId the id of the GridFS file of the content.
+     */
+    public synchronized void remove(ObjectId fileId) {
+        if (fileId == null) {
+            return;
+        }
+        String name = fileId.toHexString();
+        if (filling.contains(name)) {
+            removed.add(name);
+        }
+        Long length = files.remove(name);
+        if (length != null) {
+            size -= length;
+            delete(name);
+        }
+    }
+
+    private void fill(String name, FileEntryContent content) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, name, TEMP_SUFFIX);
+            try (InputStream in = content.getInputStream()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            long length = Files.size(temp);
+            synchronized (this) {
+                if (removed.contains(name)) {
+                    Files.delete(temp);
+                    return;
+                }
+                Files.move(temp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+                add(name, length);
+                evict();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not cache the FileEntry content {}: {}", name, e.getMessage());
+            if (temp != null) {
+                temp.toFile().delete();
+            }
+        } finally {
+            synchronized (this) {
+                filling.remove(name);
+                removed.remove(name);
+            }
+        }
+    }
+
+    /**
+     * Find which of the cached files still have their GridFS file.
+     */
+    private Set<String> storedFileIds(Collection<Path> paths) {
+        if (paths.isEmpty()) {
+            return Set.of();
+        }
+        List<ObjectId> ids = paths.stream().map(path -> new ObjectId(path.getFileName().toString())).collect(Collectors.toList());
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("_id");
+        return mongoTemplate
+            .find(query, Document.class, FILES_COLLECTION)
+            .stream()
+            .map(file -> file.getObjectId("_id").toHexString())
+            .collect(Collectors.toSet());
+    }
+
+    private void add(String name, long length) {
+        Long previous = files.put(name, length);
+        size += length - (previous == null ? 0 : previous);
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> leastRecentlyUsed = files.entrySet().iterator();
+        while (size > maxSize && leastRecentlyUsed.hasNext()) {
+            Map.Entry<String, Long> evicted = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            size -= evicted.getValue();
+            delete(evicted.getKey());
+        }
+    }
+
+    /**
+     * Readers that already opened the file keep reading it, the others fall back to the storage.
+     */
+    private void delete(String name) {
+        try {
+            Files.deleteIfExists(directory.resolve(name));
+        } catch (IOException e) {
+            log.warn("Could not delete the cached FileEntry content {}: {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.cv.maker.service;
+
+import java.time.Duration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Properties of the storage of the file entries, configured under {@code application.file-entry}.
+ * <p>
+ * They are bound as part of the application properties, and declared here so that the services can be given them.
+ */
+public class FileEntryProperties {
+
+    /**
+     * Maximum size of a stored file, checked while the file is streamed to the storage.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(50);
+
+    private final Rendition rendition = new Rendition();
+
+    private final Compression compression = new Compression();
+
+    private final Upload upload = new Upload();
+
+    private final Cache cache = new Cache();
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Rendition getRendition() {
+        return rendition;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public Upload getUpload() {
+        return upload;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public static class Rendition {
+
+        /**
+         * Number of threads rendering the renditions of the uploaded images.
+         */
+        private int poolSize = 2;
+
+        /**
+         * Number of images waiting to be rendered, past which renditions are skipped.
+         */
+        private int queueCapacity = 100;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class Compression {
+
+        /**
+         * Whether the stored files of compressible types are deflated.
+         */
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class Upload {
+
+        /**
+         * Time after which an upload session that isn't completed is deleted with its chunks.
+         */
+        private Duration timeout = Duration.ofHours(24);
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the local disk tier of the stored files.
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/cvmaker-file-entries";
+
+        /**
+         * Size of the local disk tier, past which the least recently used files are evicted.
+         */
+        private DataSize maxSize = DataSize.ofGigabytes(1);
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+}
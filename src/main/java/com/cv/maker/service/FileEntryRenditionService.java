@@ -0,0 +1,216 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.FileEntry;
+import com.cv.maker.domain.enumeration.Rendition;
+import com.cv.maker.repository.FileEntryRepository;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service rendering the uploaded images of the {@link FileEntry} entities in the reduced sizes of the {@link Rendition}s.
+ * <p>
+ * The renditions are rendered with ImageIO on the bounded rendition executor, so that uploads don't wait for them, and are
+ * stored as fileEntries of their own linked to their original fileEntry.
+ */
+@Service
+public class FileEntryRenditionService {
+
+    /**
+     * The largest width or height of the images that are rendered, checked before they are decoded.
+     */
+    static final int MAX_DIMENSION = 20_000;
+
+    /**
+     * Images are decoded subsampled down to no less than twice the size of the largest rendition, so that the decoded image
+     * stays small whatever the size of the original.
+     */
+    private static final int DECODED_SIZE = 2 * Arrays.stream(Rendition.values()).mapToInt(Rendition::getMaxSize).max().orElseThrow();
+
+    private final Logger log = LoggerFactory.getLogger(FileEntryRenditionService.class);
+
+    private final FileEntryRepository fileEntryRepository;
+
+    private final FileEntryContentService fileEntryContentService;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Executor renditionExecutor;
+
+    public FileEntryRenditionService(
+        FileEntryRepository fileEntryRepository,
+        FileEntryContentService fileEntryContentService,
+        MongoTemplate mongoTemplate,
+        @Qualifier("renditionExecutor") Executor renditionExecutor
+    ) {
+        this.fileEntryRepository = fileEntryRepository;
+        this.fileEntryContentService = fileEntryContentService;
+        this.mongoTemplate = mongoTemplate;
+        this.renditionExecutor = renditionExecutor;
+    }
+
+    /**
+     * Render the renditions of a fileEntry asynchronously, when its content is an image.
+     *
+     * @param id the id of the original fileEntry.
+     * @param contentType the content type of the fileEntry, or {@code null} if unknown.
+     */
+    public void renderAsync(String id, String contentType) {
+        if (contentType != null && contentType.startsWith("image/")) {
+            renditionExecutor.execute(() -> render(id));
+        }
+    }
+
+    /**
+     * Get the content of a rendition of a fileEntry.
+     *
+     * @param id the id of the original fileEntry.
+     * @param rendition the rendition.
+     * @return the content of the rendition, or empty if it isn't rendered.
+     */
+    public Optional<FileEntryContent> findContent(String id, Rendition rendition) {
+        log.debug("Request to get the {} rendition of FileEntry : {}", rendition, id);
+        return fileEntryRepository.findOneByOriginalIdAndRendition(id, rendition).flatMap(fileEntryContentService::findContent);
+    }
+
+    /**
+     * Delete the renditions of fileEntries.
+     *
+     * @param ids the ids of the original fileEntries.
+     */
+    public void deleteRenditions(Collection<String> ids) {
+        log.debug("Request to delete the renditions of FileEntries : {}", ids);
+        Query renditions = Query.query(Criteria.where("original_id").in(ids));
+        renditions.fields().include("_id");
+        List<String> renditionIds = mongoTemplate
+            .find(renditions, FileEntry.class)
+            .stream()
+            .map(FileEntry::getId)
+            .collect(Collectors.toList());
+        if (!renditionIds.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(renditionIds)), FileEntry.class);
+        }
+    }
+
+    /**
+     * Render the renditions of a fileEntry, replacing its previous renditions.
+     *
+     * @param id the id of the original fileEntry.
+     */
+    void render(String id) {
+        log.debug("Request to render the renditions of FileEntry : {}", id);
+        try {
+            Optional<FileEntryContent> content = fileEntryRepository.findDigestById(id).flatMap(fileEntryContentService::findContent);
+            if (content.isEmpty()) {
+                return;
+            }
+            BufferedImage image;
+            try (InputStream in = content.get().getInputStream(); ImageInputStream input = ImageIO.createImageInputStream(in)) {
+                image = read(id, input);
+            }
+            if (image == null) {
+                return;
+            }
+            for (Rendition rendition : Rendition.values()) {
+                store(id, rendition, scale(image, rendition.getMaxSize()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not render the renditions of FileEntry {}: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * Read an image subsampled, after checking its dimensions from its header.
+     *
+     * @return the image, or {@code null} if it isn't readable or is too large.
+     */
+    private BufferedImage read(String id, ImageInputStream input) throws IOException {
+        Iterator<ImageReader> readers = input == null ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            log.debug("FileEntry {} is not a readable image, no rendition is rendered", id);
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            if (width > MAX_DIMENSION || height > MAX_DIMENSION) {
+                log.debug("FileEntry {} is a {}x{} image, too large for its renditions to be rendered", id, width, height);
+                return null;
+            }
+            ImageReadParam param = reader.getDefaultReadParam();
+            int step = Math.max(1, Math.max(width, height) / DECODED_SIZE);
+            param.setSourceSubsampling(step, step, 0, 0);
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private void store(String id, Rendition rendition, BufferedImage image) throws IOException {
+        boolean alpha = image.getColorModel().hasAlpha();
+        String contentType = alpha ? "image/png" : "image/jpeg";
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(image, alpha ? "png" : "jpg", encoded);
+        FileEntry fileEntry = fileEntryRepository
+            .findOneByOriginalIdAndRendition(id, rendition)
+            .orElseGet(() -> new FileEntry().originalId(id).rendition(rendition));
+        String previousDigest = fileEntry.getDigest();
+        fileEntry.setDigest(fileEntryContentService.store(new ByteArrayInputStream(encoded.toByteArray()), contentType));
+        fileEntry.setContentType(contentType);
+        fileEntry.setSize((long) encoded.size());
+        fileEntryRepository.save(fileEntry);
+        if (previousDigest != null) {
+            fileEntryContentService.release(List.of(previousDigest));
+        }
+    }
+
+    /**
+     * Scale an image down to fit in a square, halving its size step by step for a smooth result.
+     */
+    private static BufferedImage scale(BufferedImage image, int maxSize) {
+        double ratio = Math.min(1d, (double) maxSize / Math.max(image.getWidth(), image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage scaled = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(scaled, 0, 0, width, height, null);
+            graphics.dispose();
+            scaled = step;
+        } while (width != targetWidth || height != targetHeight);
+        return scaled;
+    }
+}
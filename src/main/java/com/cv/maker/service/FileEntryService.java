@@ -1,17 +1,18 @@
 package com.cv.maker.service;
 
 import com.cv.maker.domain.FileEntry;
+import com.cv.maker.domain.enumeration.Rendition;
 import com.cv.maker.repository.FileEntryRepository;
-
+import com.cv.maker.service.dto.KeysetPage;
 import java.io.IOException;
-import java.util.Objects;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -24,8 +25,26 @@ public class FileEntryService {
 
     private final FileEntryRepository fileEntryRepository;
 
-    public FileEntryService(FileEntryRepository fileEntryRepository) {
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final PartialUpdateService partialUpdateService;
+
+    private final FileEntryContentService fileEntryContentService;
+
+    private final FileEntryRenditionService fileEntryRenditionService;
+
+    public FileEntryService(
+        FileEntryRepository fileEntryRepository,
+        KeysetPaginationService keysetPaginationService,
+        PartialUpdateService partialUpdateService,
+        FileEntryContentService fileEntryContentService,
+        FileEntryRenditionService fileEntryRenditionService
+    ) {
         this.fileEntryRepository = fileEntryRepository;
+        this.keysetPaginationService = keysetPaginationService;
+        this.partialUpdateService = partialUpdateService;
+        this.fileEntryContentService = fileEntryContentService;
+        this.fileEntryRenditionService = fileEntryRenditionService;
     }
 
     /**
@@ -48,16 +67,11 @@ public class FileEntryService {
     public Optional<FileEntry> partialUpdate(FileEntry fileEntry) {
         log.debug("Request to partially update FileEntry : {}", fileEntry);
 
-        return fileEntryRepository
-            .findById(fileEntry.getId())
-            .map(existingFileEntry -> {
-                return existingFileEntry;
-            })
-            .map(fileEntryRepository::save);
+        return partialUpdateService.partialUpdate(fileEntry).map(this::withData);
     }
 
     /**
-     * Get all the fileEntries.
+     * Get all the fileEntries, with the metadata of their content but without their data.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
@@ -67,6 +81,18 @@ public class FileEntryService {
         return fileEntryRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of the fileEntries after a cursor, with the metadata of their content but without their data.
+     *
+     * @param cursor the cursor of the slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice of entities.
+     */
+    public KeysetPage<FileEntry> findAll(String cursor, int size) {
+        log.debug("Request to get a slice of FileEntries after cursor : {}", cursor);
+        return keysetPaginationService.findAll(FileEntry.class, cursor, size);
+    }
+
     /**
      * Get one fileEntry by id.
      *
@@ -75,7 +101,39 @@ public class FileEntryService {
      */
     public Optional<FileEntry> findOne(String id) {
         log.debug("Request to get FileEntry : {}", id);
-        return fileEntryRepository.findById(id);
+        return fileEntryRepository.findById(id).map(this::withData);
+    }
+
+    /**
+     * Get the content of the "id" fileEntry, to stream it.
+     *
+     * @param id the id of the entity.
+     * @return the content, or empty if the entity has no content.
+     */
+    public Optional<FileEntryContent> findContent(String id) {
+        log.debug("Request to get the content of FileEntry : {}", id);
+        return fileEntryRepository.findDigestById(id).flatMap(fileEntryContentService::findContent);
+    }
+
+    /**
+     * Get the last modified date of the "id" fileEntry, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the last modified date, or empty if the entity doesn't exist or has never been modified since dates are recorded.
+     */
+    public Optional<Instant> findLastModifiedDate(String id) {
+        return fileEntryRepository.findLastModifiedDateById(id).map(FileEntry::getLastModifiedDate);
+    }
+
+    /**
+     * Get the content of a rendition of the "id" fileEntry, to stream it.
+     *
+     * @param id the id of the entity.
+     * @param rendition the rendition.
+     * @return the content of the rendition, or empty if the rendition isn't rendered.
+     */
+    public Optional<FileEntryContent> findContent(String id, Rendition rendition) {
+        return fileEntryRenditionService.findContent(id, rendition);
     }
 
     /**
@@ -88,9 +146,44 @@ public class FileEntryService {
         fileEntryRepository.deleteById(id);
     }
 
-    public FileEntry store (MultipartFile multipartFile) throws IOException {
+    /**
+     * Store an uploaded file as a new fileEntry. The file is streamed to the storage, the returned entity holds no data.
+     *
+     * @param multipartFile the uploaded file.
+     * @return the persisted entity.
+     * @throws IOException if the uploaded file can't be read.
+     */
+    public FileEntry store(MultipartFile multipartFile) throws IOException {
+        log.debug("Request to store the file : {}", multipartFile.getOriginalFilename());
+        try (InputStream content = multipartFile.getInputStream()) {
+            return store(content, multipartFile.getContentType());
+        }
+    }
+
+    /**
+     * Store a content as a new fileEntry. The content is streamed to the storage, the returned entity holds no data. The
+     * renditions of an image are rendered asynchronously.
+     *
+     * @param content the content, read until its end.
+     * @param contentType the content type of the content, or {@code null} if unknown.
+     * @return the persisted entity.
+     * @throws FileTooLargeException if the content is larger than the maximum size, in which case no entity is created.
+     */
+    public FileEntry store(InputStream content, String contentType) {
+        log.debug("Request to store a file of type : {}", contentType);
         FileEntry fileEntry = new FileEntry();
-        fileEntry.setData(multipartFile.getBytes());
-        return fileEntryRepository.save(fileEntry);
+        fileEntry.setDigest(fileEntryContentService.store(content, contentType));
+        fileEntry.setContentType(contentType);
+        fileEntry.setSize(fileEntryContentService.findSize(fileEntry.getDigest()).orElse(null));
+        fileEntry = fileEntryRepository.save(fileEntry);
+        fileEntryRenditionService.renderAsync(fileEntry.getId(), contentType);
+        return fileEntry;
+    }
+
+    private FileEntry withData(FileEntry fileEntry) {
+        if (fileEntry.getDigest() != null) {
+            fileEntryContentService.read(fileEntry.getDigest()).ifPresent(fileEntry::setData);
+        }
+        return fileEntry;
     }
 }
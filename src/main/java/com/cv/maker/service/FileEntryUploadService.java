@@ -0,0 +1,242 @@
+package com.cv.maker.service;
+
+import com.cv.maker.domain.FileEntry;
+import com.cv.maker.domain.UploadSession;
+import com.cv.maker.repository.UploadSessionRepository;
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Service managing the resumable {@link UploadSession}s.
+ * <p>
+ * Each chunk is streamed to GridFS as it arrives and checked against its SHA-256 checksum, so that a client only sends again
+ * the chunks that failed. Completing a session streams the chunks one after the other to {@link FileEntryService#store}, so
+ * that the file is never held whole in memory.
+ */
+@Service
+public class FileEntryUploadService {
+
+    private static final String CHUNK_FILENAME = "upload-chunk";
+
+    private static final String UPLOAD_ID = "upload_id";
+
+    private static final String INDEX = "index";
+
+    private final Logger log = LoggerFactory.getLogger(FileEntryUploadService.class);
+
+    private final UploadSessionRepository uploadSessionRepository;
+
+    private final FileEntryService fileEntryService;
+
+    private final GridFsTemplate gridFsTemplate;
+
+    private final DataSize maxSize;
+
+    private final Duration timeout;
+
+    public FileEntryUploadService(
+        UploadSessionRepository uploadSessionRepository,
+        FileEntryService fileEntryService,
+        GridFsTemplate gridFsTemplate,
+        FileEntryProperties fileEntryProperties
+    ) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.fileEntryService = fileEntryService;
+        this.gridFsTemplate = gridFsTemplate;
+        this.maxSize = fileEntryProperties.getMaxSize();
+        this.timeout = fileEntryProperties.getUpload().getTimeout();
+    }
+
+    /**
+     * Start an upload session.
+     *
+     * @param contentType the content type of the uploaded file, or {@code null} if unknown.
+     * @return the persisted session.
+     */
+    public UploadSession init(String contentType) {
+        log.debug("Request to start an upload session for a file of type : {}", contentType);
+        UploadSession uploadSession = new UploadSession();
+        uploadSession.setContentType(contentType);
+        uploadSession = uploadSessionRepository.save(uploadSession);
+        uploadSession.setChunks(List.of());
+        return uploadSession;
+    }
+
+    /**
+     * Get an upload session, with the indexes of the chunks received so far.
+     *
+     * @param id the id of the session.
+     * @return the session, or empty if it doesn't exist.
+     */
+    public Optional<UploadSession> findOne(String id) {
+        log.debug("Request to get UploadSession : {}", id);
+        return uploadSessionRepository.findById(id).map(this::withChunks);
+    }
+
+    /**
+     * Store a chunk of an upload session, replacing the chunk previously received at the same index.
+     *
+     * @param id the id of the session.
+     * @param index the index of the chunk, from 0.
+     * @param content the content of the chunk, read until its end.
+     * @param checksum the hex SHA-256 checksum of the chunk.
+     * @return {@code true} if the chunk is stored, {@code false} if the session doesn't exist.
+     * @throws ChunkChecksumException if the chunk doesn't match its checksum, in which case it isn't stored.
+     * @throws FileTooLargeException if the chunk and the other chunks of the session are larger than the maximum size of a
+     * file, in which case it isn't stored.
+     */
+    public boolean storeChunk(String id, int index, InputStream content, String checksum) {
+        log.debug("Request to store chunk {} of UploadSession : {}", index, id);
+        if (!uploadSessionRepository.existsById(id)) {
+            return false;
+        }
+        // The chunk may only fill what the other chunks leave of the maximum size
+        long others = 0;
+        for (GridFSFile chunk : gridFsTemplate.find(chunkQuery(id).addCriteria(Criteria.where("metadata." + INDEX).ne(index)))) {
+            others += chunk.getLength();
+        }
+        MessageDigest digest = FileEntryContentService.sha256();
+        Document metadata = new Document(UPLOAD_ID, id).append(INDEX, index);
+        InputStream stored = new DigestInputStream(new SizeLimitedInputStream(content, maxSize.toBytes() - others, maxSize), digest);
+        ObjectId chunkId;
+        try {
+            chunkId = gridFsTemplate.store(stored, CHUNK_FILENAME, metadata);
+        } catch (MongoGridFSException e) {
+            throw SizeLimitedInputStream.translate(e);
+        }
+        if (!String.format("%064x", new BigInteger(1, digest.digest())).equalsIgnoreCase(checksum)) {
+            gridFsTemplate.delete(Query.query(Criteria.where("_id").is(chunkId)));
+            throw new ChunkChecksumException(index);
+        }
+        gridFsTemplate.delete(chunkQuery(id).addCriteria(Criteria.where("metadata." + INDEX).is(index).and("_id").ne(chunkId)));
+        return true;
+    }
+
+    /**
+     * Complete an upload session, assembling its chunks into a new fileEntry, then delete the session.
+     *
+     * @param id the id of the session.
+     * @return the persisted fileEntry, or empty if the session doesn't exist.
+     * @throws IncompleteUploadException if a chunk is missing, in which case the session is kept.
+     * @throws FileTooLargeException if the assembled file is larger than the maximum size, in which case the session is kept.
+     */
+    public Optional<FileEntry> complete(String id) {
+        log.debug("Request to complete UploadSession : {}", id);
+        Optional<UploadSession> uploadSession = uploadSessionRepository.findById(id);
+        if (uploadSession.isEmpty()) {
+            return Optional.empty();
+        }
+        List<GridFSFile> chunks = new ArrayList<>();
+        for (GridFSFile chunk : gridFsTemplate.find(chunkQuery(id).with(Sort.by("metadata." + INDEX)))) {
+            int index = index(chunk);
+            if (index == chunks.size() - 1) {
+                // Stored twice by concurrent retries
+                continue;
+            }
+            if (index != chunks.size()) {
+                throw new IncompleteUploadException(chunks.size());
+            }
+            chunks.add(chunk);
+        }
+        if (chunks.isEmpty()) {
+            throw new IncompleteUploadException(0);
+        }
+        FileEntry fileEntry;
+        try (InputStream content = new SequenceInputStream(open(chunks))) {
+            fileEntry = fileEntryService.store(content, uploadSession.get().getContentType());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        delete(id);
+        return Optional.of(fileEntry);
+    }
+
+    /**
+     * Delete an upload session and its chunks.
+     *
+     * @param id the id of the session.
+     */
+    public void delete(String id) {
+        log.debug("Request to delete UploadSession : {}", id);
+        gridFsTemplate.delete(chunkQuery(id));
+        uploadSessionRepository.deleteById(id);
+    }
+
+    /**
+     * Upload sessions should be completed within the timeout, after which they are deleted with their chunks.
+     * <p>
+     * This is scheduled to get fired every hour.
+     */
+    @Scheduled(cron = "0 0 * * * ?")
+    public void removeExpiredSessions() {
+        uploadSessionRepository
+            .findAllByCreatedDateBefore(Instant.now().minus(timeout))
+            .forEach(uploadSession -> {
+                log.debug("Deleting expired upload session {}", uploadSession.getId());
+                delete(uploadSession.getId());
+            });
+    }
+
+    private UploadSession withChunks(UploadSession uploadSession) {
+        List<GridFSFile> chunks = new ArrayList<>();
+        gridFsTemplate.find(chunkQuery(uploadSession.getId()).with(Sort.by("metadata." + INDEX))).into(chunks);
+        uploadSession.setChunks(chunks.stream().map(FileEntryUploadService::index).distinct().collect(Collectors.toList()));
+        return uploadSession;
+    }
+
+    /**
+     * Open the chunks one at a time, as they are read.
+     */
+    private Enumeration<InputStream> open(List<GridFSFile> chunks) {
+        Iterator<GridFSFile> iterator = chunks.iterator();
+        return new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return gridFsTemplate.getResource(iterator.next()).getInputStream();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private static Query chunkQuery(String id) {
+        return Query.query(Criteria.where("filename").is(CHUNK_FILENAME).and("metadata." + UPLOAD_ID).is(id));
+    }
+
+    private static int index(GridFSFile chunk) {
+        return chunk.getMetadata().getInteger(INDEX);
+    }
+}
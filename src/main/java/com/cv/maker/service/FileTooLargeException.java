@@ -0,0 +1,12 @@
+package com.cv.maker.service;
+
+import org.springframework.util.unit.DataSize;
+
+public class FileTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public FileTooLargeException(DataSize maxSize) {
+        super("File larger than " + maxSize.toBytes() + " bytes!");
+    }
+}
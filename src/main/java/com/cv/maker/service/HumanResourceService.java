@@ -8,6 +8,7 @@ import java.util.Optional;
 
 import com.cv.maker.repository.UserRepository;
 import com.cv.maker.security.AuthoritiesConstants;
+import com.cv.maker.service.dto.KeysetPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -29,11 +30,22 @@ public class HumanResourceService {
 
     private final UserRepository userRepository;
 
+    private final KeysetPaginationService keysetPaginationService;
 
-    public HumanResourceService(HumanResourceRepository humanResourceRepository, PasswordEncoder passwordEncoder, UserRepository userRepository) {
+    private final PartialUpdateService partialUpdateService;
+
+    public HumanResourceService(
+        HumanResourceRepository humanResourceRepository,
+        PasswordEncoder passwordEncoder,
+        UserRepository userRepository,
+        KeysetPaginationService keysetPaginationService,
+        PartialUpdateService partialUpdateService
+    ) {
         this.humanResourceRepository = humanResourceRepository;
         this.passwordEncoder = passwordEncoder;
         this.userRepository = userRepository;
+        this.keysetPaginationService = keysetPaginationService;
+        this.partialUpdateService = partialUpdateService;
     }
 
     /**
@@ -56,12 +68,7 @@ public class HumanResourceService {
     public Optional<HumanResource> partialUpdate(HumanResource humanResource) {
         log.debug("Request to partially update HumanResource : {}", humanResource);
 
-        return humanResourceRepository
-            .findById(humanResource.getId())
-            .map(existingHumanResource -> {
-                return existingHumanResource;
-            })
-            .map(humanResourceRepository::save);
+        return partialUpdateService.partialUpdate(humanResource);
     }
 
     /**
@@ -75,6 +82,18 @@ public class HumanResourceService {
         return humanResourceRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of the humanResources after a cursor.
+     *
+     * @param cursor the cursor of the slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice of entities.
+     */
+    public KeysetPage<HumanResource> findAll(String cursor, int size) {
+        log.debug("Request to get a slice of HumanResources after cursor : {}", cursor);
+        return keysetPaginationService.findAll(HumanResource.class, cursor, size);
+    }
+
     /**
      * Get one humanResource by id.
      *
@@ -0,0 +1,10 @@
+package com.cv.maker.service;
+
+public class IncompleteUploadException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IncompleteUploadException(int missingIndex) {
+        super("Chunk " + missingIndex + " is missing!");
+    }
+}
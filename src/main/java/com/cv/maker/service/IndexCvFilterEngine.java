@@ -0,0 +1,30 @@
+package com.cv.maker.service;
+
+import com.cv.maker.service.dto.CvFilter;
+import java.util.Set;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link CvFilterEngine} evaluating the filter in the JVM against the {@link CvSkillIndex}.
+ */
+@Service
+public class IndexCvFilterEngine implements CvFilterEngine {
+
+    public static final String NAME = "index";
+
+    private final CvSkillIndex cvSkillIndex;
+
+    public IndexCvFilterEngine(CvSkillIndex cvSkillIndex) {
+        this.cvSkillIndex = cvSkillIndex;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Set<String> findCvIds(CvFilter cvFilter) {
+        return cvSkillIndex.findCvIds(cvFilter.getSkills());
+    }
+}
@@ -0,0 +1,129 @@
+package com.cv.maker.service;
+
+import com.cv.maker.service.dto.KeysetPage;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service reading entities by keyset (cursor) pagination on {@code _id}.
+ * <p>
+ * Each slice is read with a range query on {@code _id} after the cursor, so deep slices cost the same as the first one,
+ * and neither skip nor count queries are issued. Cursors are opaque to the clients.
+ */
+@Service
+public class KeysetPaginationService {
+
+    private static final String OBJECT_ID_PREFIX = "o:";
+
+    private static final String STRING_PREFIX = "s:";
+
+    private final MongoTemplate mongoTemplate;
+
+    public KeysetPaginationService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Get a slice of entities after a cursor.
+     *
+     * @param entityClass the entity class.
+     * @param cursor the cursor of the slice, as returned with the previous slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice, with the cursor of the next slice.
+     */
+    public <T> KeysetPage<T> findAll(Class<T> entityClass, String cursor, int size) {
+        return findAll(entityClass, new Criteria(), cursor, size);
+    }
+
+    /**
+     * Get a slice of the entities matching a criteria after a cursor.
+     *
+     * @param entityClass the entity class.
+     * @param criteria the criteria of the entities.
+     * @param cursor the cursor of the slice, as returned with the previous slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice, with the cursor of the next slice.
+     */
+    public <T> KeysetPage<T> findAll(Class<T> entityClass, Criteria criteria, String cursor, int size) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass);
+        List<T> content = new ArrayList<>(mongoTemplate.find(sliceQuery(criteria, cursor, size), entityClass));
+        return slice(content, size, element -> entity.getIdentifierAccessor(element).getIdentifier());
+    }
+
+    /**
+     * Get a slice of entity ids after a cursor, to be loaded by the caller.
+     *
+     * @param entityClass the entity class.
+     * @param cursor the cursor of the slice, as returned with the previous slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice of ids, with the cursor of the next slice.
+     */
+    public KeysetPage<String> findIds(Class<?> entityClass, String cursor, int size) {
+        Query query = sliceQuery(new Criteria(), cursor, size);
+        query.fields().include("_id");
+        List<Object> ids = new ArrayList<>();
+        mongoTemplate
+            .find(query, Document.class, mongoTemplate.getCollectionName(entityClass))
+            .forEach(document -> ids.add(document.get("_id")));
+        return slice(ids, size, id -> id).map(Object::toString);
+    }
+
+    private Query sliceQuery(Criteria criteria, String cursor, int size) {
+        Criteria slice = criteria;
+        if (cursor != null && !cursor.isEmpty()) {
+            Object after = decode(cursor);
+            Criteria afterCursor;
+            if (after instanceof ObjectId) {
+                afterCursor = Criteria.where("_id").gt(after);
+            } else {
+                // string ids sort before object ids, and a range on a string only matches strings
+                afterCursor =
+                    new Criteria().orOperator(Criteria.where("_id").gt(after), Criteria.where("_id").type(JsonSchemaObject.Type.OBJECT_ID));
+            }
+            // a query holds a single criteria without key, so both are combined into one
+            slice = criteria.getCriteriaObject().isEmpty() ? afterCursor : new Criteria().andOperator(criteria, afterCursor);
+        }
+        return new Query(slice).with(Sort.by(Sort.Direction.ASC, "_id")).limit(size + 1);
+    }
+
+    private static <T> KeysetPage<T> slice(List<T> content, int size, Function<T, Object> getId) {
+        if (content.size() <= size) {
+            return new KeysetPage<>(content, null);
+        }
+        List<T> slice = new ArrayList<>(content.subList(0, size));
+        return new KeysetPage<>(slice, encode(getId.apply(slice.get(size - 1))));
+    }
+
+    private static String encode(Object id) {
+        String value = ObjectId.isValid(id.toString()) ? OBJECT_ID_PREFIX + id : STRING_PREFIX + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object decode(String cursor) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+        if (value.startsWith(OBJECT_ID_PREFIX) && ObjectId.isValid(value.substring(OBJECT_ID_PREFIX.length()))) {
+            return new ObjectId(value.substring(OBJECT_ID_PREFIX.length()));
+        }
+        if (value.startsWith(STRING_PREFIX)) {
+            return value.substring(STRING_PREFIX.length());
+        }
+        throw new InvalidCursorException();
+    }
+}
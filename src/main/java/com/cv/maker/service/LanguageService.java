@@ -2,7 +2,11 @@ package com.cv.maker.service;
 
 import com.cv.maker.domain.Language;
 import com.cv.maker.repository.LanguageRepository;
+import com.cv.maker.service.dto.BatchItemResult;
+import com.cv.maker.service.dto.KeysetPage;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -19,8 +23,26 @@ public class LanguageService {
 
     private final LanguageRepository languageRepository;
 
-    public LanguageService(LanguageRepository languageRepository) {
+    private final CvSnapshotService cvSnapshotService;
+
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final PartialUpdateService partialUpdateService;
+
+    private final BatchWriteService batchWriteService;
+
+    public LanguageService(
+        LanguageRepository languageRepository,
+        CvSnapshotService cvSnapshotService,
+        KeysetPaginationService keysetPaginationService,
+        PartialUpdateService partialUpdateService,
+        BatchWriteService batchWriteService
+    ) {
         this.languageRepository = languageRepository;
+        this.cvSnapshotService = cvSnapshotService;
+        this.keysetPaginationService = keysetPaginationService;
+        this.partialUpdateService = partialUpdateService;
+        this.batchWriteService = batchWriteService;
     }
 
     /**
@@ -31,7 +53,9 @@ public class LanguageService {
      */
     public Language save(Language language) {
         log.debug("Request to save Language : {}", language);
-        return languageRepository.save(language);
+        Language result = languageRepository.save(language);
+        cvSnapshotService.updateLanguage(result);
+        return result;
     }
 
     /**
@@ -43,19 +67,38 @@ public class LanguageService {
     public Optional<Language> partialUpdate(Language language) {
         log.debug("Request to partially update Language : {}", language);
 
-        return languageRepository
-            .findById(language.getId())
-            .map(existingLanguage -> {
-                if (language.getName() != null) {
-                    existingLanguage.setName(language.getName());
-                }
-                if (language.getLevel() != null) {
-                    existingLanguage.setLevel(language.getLevel());
-                }
-
-                return existingLanguage;
-            })
-            .map(languageRepository::save);
+        return partialUpdateService
+            .partialUpdate(language, "name", "level")
+            .map(result -> {
+                cvSnapshotService.updateLanguage(result);
+                return result;
+            });
+    }
+
+    /**
+     * Create a batch of languages.
+     *
+     * @param languages the entities to create.
+     * @return the outcome of each entity.
+     */
+    public List<BatchItemResult<Language>> createAll(List<Language> languages) {
+        log.debug("Request to create a batch of Languages : {}", languages.size());
+        return batchWriteService.createAll(Language.class, languages);
+    }
+
+    /**
+     * Update a batch of languages.
+     *
+     * @param languages the entities to update.
+     * @return the outcome of each entity.
+     */
+    public List<BatchItemResult<Language>> updateAll(List<Language> languages) {
+        log.debug("Request to update a batch of Languages : {}", languages.size());
+        List<BatchItemResult<Language>> results = batchWriteService.updateAll(Language.class, languages);
+        cvSnapshotService.updateLanguages(
+            results.stream().filter(BatchItemResult::isSuccessful).map(BatchItemResult::getEntity).collect(Collectors.toList())
+        );
+        return results;
     }
 
     /**
@@ -69,6 +112,18 @@ public class LanguageService {
         return languageRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of the languages after a cursor.
+     *
+     * @param cursor the cursor of the slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice of entities.
+     */
+    public KeysetPage<Language> findAll(String cursor, int size) {
+        log.debug("Request to get a slice of Languages after cursor : {}", cursor);
+        return keysetPaginationService.findAll(Language.class, cursor, size);
+    }
+
     /**
      * Get one language by id.
      *
@@ -88,5 +143,21 @@ public class LanguageService {
     public void delete(String id) {
         log.debug("Request to delete Language : {}", id);
         languageRepository.deleteById(id);
+        cvSnapshotService.removeLanguage(id);
+    }
+
+    /**
+     * Delete a batch of languages.
+     *
+     * @param ids the ids of the entities.
+     * @return the outcome of each id.
+     */
+    public List<BatchItemResult<Language>> deleteAll(List<String> ids) {
+        log.debug("Request to delete a batch of Languages : {}", ids);
+        List<BatchItemResult<Language>> results = batchWriteService.deleteAll(Language.class, ids);
+        cvSnapshotService.removeLanguages(
+            results.stream().filter(BatchItemResult::isSuccessful).map(BatchItemResult::getId).collect(Collectors.toList())
+        );
+        return results;
     }
 }
@@ -0,0 +1,73 @@
+package com.cv.maker.service;
+
+import java.util.Optional;
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service applying partial updates in place.
+ * <p>
+ * The non-null patched properties are written with a single {@code findAndModify} {@code $set}, instead of reading and
+ * saving the whole document, so that concurrent patches of different properties don't overwrite each other. As
+ * {@code findAndModify} publishes no save event, an {@link AfterSaveEvent} is published with the updated entity. The
+ * {@link LastModifiedDate} of the entity, if any, is set by the update too, as no auditing applies to it.
+ */
+@Service
+public class PartialUpdateService {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public PartialUpdateService(MongoTemplate mongoTemplate, ApplicationEventPublisher applicationEventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Partially update an entity.
+     *
+     * @param patch the patch, holding the id of the entity and the values of the properties to update.
+     * @param properties the properties that may be patched, null values are left unchanged.
+     * @return the updated entity, or empty if there is no entity with the id of the patch.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> partialUpdate(T patch, String... properties) {
+        Class<T> entityClass = (Class<T>) patch.getClass();
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityClass);
+        PersistentPropertyAccessor<T> accessor = entity.getPropertyAccessor(patch);
+        Update update = new Update();
+        for (String property : properties) {
+            Object value = accessor.getProperty(entity.getRequiredPersistentProperty(property));
+            if (value != null) {
+                update.set(property, value);
+            }
+        }
+        Query query = Query.query(Criteria.where("id").is(entity.getIdentifierAccessor(patch).getRequiredIdentifier()));
+        if (update.getUpdateObject().isEmpty()) {
+            return Optional.ofNullable(mongoTemplate.findOne(query, entityClass));
+        }
+        MongoPersistentProperty lastModifiedDate = entity.getPersistentProperty(LastModifiedDate.class);
+        if (lastModifiedDate != null) {
+            update.currentDate(lastModifiedDate.getName());
+        }
+        T result = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), entityClass);
+        if (result != null) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(result, document);
+            applicationEventPublisher.publishEvent(new AfterSaveEvent<>(result, document, mongoTemplate.getCollectionName(entityClass)));
+        }
+        return Optional.ofNullable(result);
+    }
+}
@@ -0,0 +1,103 @@
+package com.cv.maker.service;
+
+import com.mongodb.MongoGridFSException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Stream failing as soon as more than a maximum size is read from it.
+ * <p>
+ * The failure is an {@link IOException}, so that a GridFS upload reading from the stream is aborted and its chunks are
+ * deleted, see {@link #translate(MongoGridFSException)}.
+ */
+class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long limit;
+
+    private final DataSize maxSize;
+
+    private long size;
+
+    SizeLimitedInputStream(InputStream in, DataSize maxSize) {
+        this(in, maxSize.toBytes(), maxSize);
+    }
+
+    /**
+     * @param in the stream to read from.
+     * @param limit the number of bytes that can be read, what remains of the maximum size for a part of a file.
+     * @param maxSize the maximum size, reported by the failure.
+     */
+    SizeLimitedInputStream(InputStream in, long limit, DataSize maxSize) {
+        super(in);
+        this.limit = limit;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the number of bytes read so far.
+     *
+     * @return the number of bytes.
+     */
+    long getSize() {
+        return size;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = super.read();
+        if (read != -1) {
+            count(1);
+        }
+        return read;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read != -1) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    private void count(long read) throws LimitExceededException {
+        size += read;
+        if (size > limit) {
+            throw new LimitExceededException(maxSize);
+        }
+    }
+
+    /**
+     * Translate the failure of a GridFS upload, which has been aborted.
+     *
+     * @param e the failure of the upload.
+     * @return a {@link FileTooLargeException} if the upload read past the maximum size of a size limited stream, the failure otherwise.
+     */
+    static RuntimeException translate(MongoGridFSException e) {
+        if (e.getCause() instanceof LimitExceededException) {
+            return new FileTooLargeException(((LimitExceededException) e.getCause()).maxSize);
+        }
+        return e;
+    }
+
+    static class LimitExceededException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient DataSize maxSize;
+
+        LimitExceededException(DataSize maxSize) {
+            super("Stream larger than " + maxSize);
+            this.maxSize = maxSize;
+        }
+    }
+}
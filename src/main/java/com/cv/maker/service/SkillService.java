@@ -2,7 +2,11 @@ package com.cv.maker.service;
 
 import com.cv.maker.domain.Skill;
 import com.cv.maker.repository.SkillRepository;
+import com.cv.maker.service.dto.BatchItemResult;
+import com.cv.maker.service.dto.KeysetPage;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -19,8 +23,26 @@ public class SkillService {
 
     private final SkillRepository skillRepository;
 
-    public SkillService(SkillRepository skillRepository) {
+    private final CvSnapshotService cvSnapshotService;
+
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final PartialUpdateService partialUpdateService;
+
+    private final BatchWriteService batchWriteService;
+
+    public SkillService(
+        SkillRepository skillRepository,
+        CvSnapshotService cvSnapshotService,
+        KeysetPaginationService keysetPaginationService,
+        PartialUpdateService partialUpdateService,
+        BatchWriteService batchWriteService
+    ) {
         this.skillRepository = skillRepository;
+        this.cvSnapshotService = cvSnapshotService;
+        this.keysetPaginationService = keysetPaginationService;
+        this.partialUpdateService = partialUpdateService;
+        this.batchWriteService = batchWriteService;
     }
 
     /**
@@ -31,7 +53,9 @@ public class SkillService {
      */
     public Skill save(Skill skill) {
         log.debug("Request to save Skill : {}", skill);
-        return skillRepository.save(skill);
+        Skill result = skillRepository.save(skill);
+        cvSnapshotService.updateSkill(result);
+        return result;
     }
 
     /**
@@ -43,16 +67,38 @@ public class SkillService {
     public Optional<Skill> partialUpdate(Skill skill) {
         log.debug("Request to partially update Skill : {}", skill);
 
-        return skillRepository
-            .findById(skill.getId())
-            .map(existingSkill -> {
-                if (skill.getName() != null) {
-                    existingSkill.setName(skill.getName());
-                }
+        return partialUpdateService
+            .partialUpdate(skill, "name")
+            .map(result -> {
+                cvSnapshotService.updateSkill(result);
+                return result;
+            });
+    }
 
-                return existingSkill;
-            })
-            .map(skillRepository::save);
+    /**
+     * Create a batch of skills.
+     *
+     * @param skills the entities to create.
+     * @return the outcome of each entity.
+     */
+    public List<BatchItemResult<Skill>> createAll(List<Skill> skills) {
+        log.debug("Request to create a batch of Skills : {}", skills.size());
+        return batchWriteService.createAll(Skill.class, skills);
+    }
+
+    /**
+     * Update a batch of skills.
+     *
+     * @param skills the entities to update.
+     * @return the outcome of each entity.
+     */
+    public List<BatchItemResult<Skill>> updateAll(List<Skill> skills) {
+        log.debug("Request to update a batch of Skills : {}", skills.size());
+        List<BatchItemResult<Skill>> results = batchWriteService.updateAll(Skill.class, skills);
+        cvSnapshotService.updateSkills(
+            results.stream().filter(BatchItemResult::isSuccessful).map(BatchItemResult::getEntity).collect(Collectors.toList())
+        );
+        return results;
     }
 
     /**
@@ -66,6 +112,18 @@ public class SkillService {
         return skillRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of the skills after a cursor.
+     *
+     * @param cursor the cursor of the slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice of entities.
+     */
+    public KeysetPage<Skill> findAll(String cursor, int size) {
+        log.debug("Request to get a slice of Skills after cursor : {}", cursor);
+        return keysetPaginationService.findAll(Skill.class, cursor, size);
+    }
+
     /**
      * Get one skill by id.
      *
@@ -85,5 +143,21 @@ public class SkillService {
     public void delete(String id) {
         log.debug("Request to delete Skill : {}", id);
         skillRepository.deleteById(id);
+        cvSnapshotService.removeSkill(id);
+    }
+
+    /**
+     * Delete a batch of skills.
+     *
+     * @param ids the ids of the entities.
+     * @return the outcome of each id.
+     */
+    public List<BatchItemResult<Skill>> deleteAll(List<String> ids) {
+        log.debug("Request to delete a batch of Skills : {}", ids);
+        List<BatchItemResult<Skill>> results = batchWriteService.deleteAll(Skill.class, ids);
+        cvSnapshotService.removeSkills(
+            results.stream().filter(BatchItemResult::isSuccessful).map(BatchItemResult::getId).collect(Collectors.toList())
+        );
+        return results;
     }
 }
@@ -0,0 +1,41 @@
+package com.cv.maker.service;
+
+import com.cv.maker.service.dto.CvFilter;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link CvFilterEngine} evaluating the filter server-side against the skill snapshots embedded in the cv documents, with
+ * a single query on the {@code cv} collection.
+ */
+@Service
+public class SnapshotCvFilterEngine implements CvFilterEngine {
+
+    public static final String NAME = "snapshot";
+
+    private final MongoTemplate mongoTemplate;
+
+    public SnapshotCvFilterEngine(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Set<String> findCvIds(CvFilter cvFilter) {
+        Query query = Query.query(AggregationCvFilterEngine.filterCriteria(CvSnapshotService.SKILL_SNAPSHOTS, cvFilter.getSkills()));
+        query.fields().include("_id");
+        Set<String> result = new LinkedHashSet<>();
+        for (Document document : mongoTemplate.find(query, Document.class, "cv")) {
+            result.add(document.get("_id").toString());
+        }
+        return result;
+    }
+}
@@ -2,6 +2,9 @@ package com.cv.maker.service;
 
 import com.cv.maker.domain.Study;
 import com.cv.maker.repository.StudyRepository;
+import com.cv.maker.service.dto.BatchItemResult;
+import com.cv.maker.service.dto.KeysetPage;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,8 +22,22 @@ public class StudyService {
 
     private final StudyRepository studyRepository;
 
-    public StudyService(StudyRepository studyRepository) {
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final PartialUpdateService partialUpdateService;
+
+    private final BatchWriteService batchWriteService;
+
+    public StudyService(
+        StudyRepository studyRepository,
+        KeysetPaginationService keysetPaginationService,
+        PartialUpdateService partialUpdateService,
+        BatchWriteService batchWriteService
+    ) {
         this.studyRepository = studyRepository;
+        this.keysetPaginationService = keysetPaginationService;
+        this.partialUpdateService = partialUpdateService;
+        this.batchWriteService = batchWriteService;
     }
 
     /**
@@ -43,31 +60,29 @@ public class StudyService {
     public Optional<Study> partialUpdate(Study study) {
         log.debug("Request to partially update Study : {}", study);
 
-        return studyRepository
-            .findById(study.getId())
-            .map(existingStudy -> {
-                if (study.getTitle() != null) {
-                    existingStudy.setTitle(study.getTitle());
-                }
-                if (study.getLocation() != null) {
-                    existingStudy.setLocation(study.getLocation());
-                }
-                if (study.getEstablishment() != null) {
-                    existingStudy.setEstablishment(study.getEstablishment());
-                }
-                if (study.getStartDate() != null) {
-                    existingStudy.setStartDate(study.getStartDate());
-                }
-                if (study.getEndDate() != null) {
-                    existingStudy.setEndDate(study.getEndDate());
-                }
-                if (study.getDescription() != null) {
-                    existingStudy.setDescription(study.getDescription());
-                }
-
-                return existingStudy;
-            })
-            .map(studyRepository::save);
+        return partialUpdateService.partialUpdate(study, "title", "location", "establishment", "startDate", "endDate", "description");
+    }
+
+    /**
+     * Create a batch of studies.
+     *
+     * @param studies the entities to create.
+     * @return the outcome of each entity.
+     */
+    public List<BatchItemResult<Study>> createAll(List<Study> studies) {
+        log.debug("Request to create a batch of Studies : {}", studies.size());
+        return batchWriteService.createAll(Study.class, studies);
+    }
+
+    /**
+     * Update a batch of studies.
+     *
+     * @param studies the entities to update.
+     * @return the outcome of each entity.
+     */
+    public List<BatchItemResult<Study>> updateAll(List<Study> studies) {
+        log.debug("Request to update a batch of Studies : {}", studies.size());
+        return batchWriteService.updateAll(Study.class, studies);
     }
 
     /**
@@ -81,6 +96,18 @@ public class StudyService {
         return studyRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of the studies after a cursor.
+     *
+     * @param cursor the cursor of the slice, or empty for the first slice.
+     * @param size the maximum size of the slice.
+     * @return the slice of entities.
+     */
+    public KeysetPage<Study> findAll(String cursor, int size) {
+        log.debug("Request to get a slice of Studies after cursor : {}", cursor);
+        return keysetPaginationService.findAll(Study.class, cursor, size);
+    }
+
     /**
      * Get one study by id.
      *
@@ -101,4 +128,15 @@ public class StudyService {
         log.debug("Request to delete Study : {}", id);
         studyRepository.deleteById(id);
     }
+
+    /**
+     * Delete a batch of studies.
+     *
+     * @param ids the ids of the entities.
+     * @return the outcome of each id.
+     */
+    public List<BatchItemResult<Study>> deleteAll(List<String> ids) {
+        log.debug("Request to delete a batch of Studies : {}", ids);
+        return batchWriteService.deleteAll(Study.class, ids);
+    }
 }
@@ -0,0 +1,86 @@
+package com.cv.maker.service;
+
+import java.util.*;
+
+/**
+ * Index of terms by their trigrams, resolving substring queries with posting-list intersections.
+ * <p>
+ * Not thread-safe, callers are expected to guard it.
+ */
+class TrigramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+    private final Set<String> terms = new HashSet<>();
+
+    void add(String term) {
+        if (terms.add(term)) {
+            trigrams(term).forEach(trigram -> termsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(term));
+        }
+    }
+
+    void remove(String term) {
+        if (terms.remove(term)) {
+            for (String trigram : trigrams(term)) {
+                Set<String> postings = termsByTrigram.get(trigram);
+                if (postings != null) {
+                    postings.remove(term);
+                    if (postings.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    void clear() {
+        termsByTrigram.clear();
+        terms.clear();
+    }
+
+    /**
+     * Find the indexed terms containing the given fragment.
+     * <p>
+     * The postings of the fragment trigrams are intersected, smallest first, and the candidates are verified. Fragments
+     * shorter than a trigram are matched by scanning the terms.
+     *
+     * @param fragment the fragment to look for.
+     * @return the terms containing the fragment.
+     */
+    Set<String> findContaining(String fragment) {
+        if (fragment.length() < GRAM_LENGTH) {
+            Set<String> result = new HashSet<>();
+            for (String term : terms) {
+                if (term.contains(fragment)) {
+                    result.add(term);
+                }
+            }
+            return result;
+        }
+        List<Set<String>> postings = new ArrayList<>();
+        for (String trigram : trigrams(fragment)) {
+            Set<String> posting = termsByTrigram.get(trigram);
+            if (posting == null) {
+                return new HashSet<>();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<String> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        result.removeIf(term -> !term.contains(fragment));
+        return result;
+    }
+
+    private static Set<String> trigrams(String term) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            trigrams.add(term.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+}
@@ -10,6 +10,7 @@ import com.cv.maker.repository.UserRepository;
 import com.cv.maker.security.AuthoritiesConstants;
 import com.cv.maker.security.SecurityUtils;
 import com.cv.maker.service.dto.AdminUserDTO;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.service.dto.UserDTO;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -22,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -46,17 +48,21 @@ public class UserService {
 
     private final CollaboratorRepository collaboratorRepository;
 
+    private final KeysetPaginationService keysetPaginationService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
         CacheManager cacheManager,
-        CollaboratorRepository collaboratorRepository) {
+        CollaboratorRepository collaboratorRepository,
+        KeysetPaginationService keysetPaginationService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
         this.collaboratorRepository = collaboratorRepository;
+        this.keysetPaginationService = keysetPaginationService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -285,10 +291,18 @@ public class UserService {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
     }
 
+    public KeysetPage<AdminUserDTO> getAllManagedUsers(String cursor, int size) {
+        return keysetPaginationService.findAll(User.class, cursor, size).map(AdminUserDTO::new);
+    }
+
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
+    public KeysetPage<UserDTO> getAllPublicUsers(String cursor, int size) {
+        return keysetPaginationService.findAll(User.class, Criteria.where("activated").is(true), cursor, size).map(UserDTO::new);
+    }
+
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
         return userRepository.findOneByLogin(login);
     }
@@ -0,0 +1,93 @@
+package com.cv.maker.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of one item of a batch write.
+ *
+ * @param <T> the type of the entities.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult<T> {
+
+    private int index;
+
+    private String id;
+
+    private int status;
+
+    private String error;
+
+    private T entity;
+
+    public BatchItemResult() {}
+
+    public BatchItemResult(int index, String id, int status, String error, T entity) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+        this.entity = entity;
+    }
+
+    /**
+     * @return the index of the item in the batch.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the HTTP status the item would have had if it had been written alone.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    public void setEntity(T entity) {
+        this.entity = entity;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchItemResult{" +
+            "index=" + index +
+            ", id='" + id + "'" +
+            ", status=" + status +
+            ", error='" + error + "'" +
+            "}";
+    }
+}
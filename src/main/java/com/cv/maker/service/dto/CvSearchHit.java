@@ -0,0 +1,45 @@
+package com.cv.maker.service.dto;
+
+import com.cv.maker.domain.Cv;
+
+/**
+ * A {@link Cv} matching a {@link CvFilter}, with its relevance score.
+ */
+public class CvSearchHit {
+
+    private Cv cv;
+
+    private double score;
+
+    public CvSearchHit() {}
+
+    public CvSearchHit(Cv cv, double score) {
+        this.cv = cv;
+        this.score = score;
+    }
+
+    public Cv getCv() {
+        return cv;
+    }
+
+    public void setCv(Cv cv) {
+        this.cv = cv;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CvSearchHit{" +
+            "cv=" + cv +
+            ", score=" + score +
+            "}";
+    }
+}
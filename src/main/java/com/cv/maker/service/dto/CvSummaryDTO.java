@@ -0,0 +1,122 @@
+package com.cv.maker.service.dto;
+
+import com.cv.maker.domain.SkillSnapshot;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * A DTO representing a cv in list views, with only the requested attributes.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CvSummaryDTO {
+
+    private String id;
+
+    private String title;
+
+    private String address;
+
+    private Long phoneNumber;
+
+    private Integer postalCode;
+
+    private String email;
+
+    private String collaboratorName;
+
+    private List<SkillSnapshot> skills;
+
+    private List<SkillSnapshot> languages;
+
+    private String imageUrl;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public Long getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(Long phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public Integer getPostalCode() {
+        return postalCode;
+    }
+
+    public void setPostalCode(Integer postalCode) {
+        this.postalCode = postalCode;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getCollaboratorName() {
+        return collaboratorName;
+    }
+
+    public void setCollaboratorName(String collaboratorName) {
+        this.collaboratorName = collaboratorName;
+    }
+
+    public List<SkillSnapshot> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<SkillSnapshot> skills) {
+        this.skills = skills;
+    }
+
+    public List<SkillSnapshot> getLanguages() {
+        return languages;
+    }
+
+    public void setLanguages(List<SkillSnapshot> languages) {
+        this.languages = languages;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CvSummaryDTO{" +
+            "id='" + id + '\'' +
+            ", title='" + title + '\'' +
+            ", collaboratorName='" + collaboratorName + '\'' +
+            "}";
+    }
+}
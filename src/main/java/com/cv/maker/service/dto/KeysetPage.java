@@ -0,0 +1,51 @@
+package com.cv.maker.service.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A slice of entities read after a cursor, with the cursor of the next slice.
+ *
+ * @param <T> the type of the entities.
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the opaque cursor of the next slice, or {@code null} if this slice is the last one.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> converter) {
+        return new KeysetPage<>(content.stream().map(converter).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Replace the content of the slice, keeping its cursor.
+     *
+     * @param content the new content.
+     * @return the slice with the new content.
+     */
+    public <R> KeysetPage<R> withContent(List<R> content) {
+        return new KeysetPage<>(content, nextCursor);
+    }
+}
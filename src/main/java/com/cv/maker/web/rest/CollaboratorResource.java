@@ -3,6 +3,7 @@ package com.cv.maker.web.rest;
 import com.cv.maker.domain.Collaborator;
 import com.cv.maker.repository.CollaboratorRepository;
 import com.cv.maker.service.CollaboratorService;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -135,11 +136,22 @@ public class CollaboratorResource {
     /**
      * {@code GET  /collaborators} : get all the collaborators.
      *
+     * @param cursor the cursor of the slice to get, empty for the first slice. When present, the list is read by keyset pagination
+     * on the ids instead of by page, and the next slice is given by the {@code Link} and {@code X-Next-Cursor} headers.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of collaborators in body.
      */
     @GetMapping("/collaborators")
-    public ResponseEntity<List<Collaborator>> getAllCollaborators(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<Collaborator>> getAllCollaborators(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        if (cursor != null) {
+            log.debug("REST request to get a slice of Collaborators");
+            KeysetPage<Collaborator> slice = collaboratorService.findAll(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of Collaborators");
         Page<Collaborator> page = collaboratorService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
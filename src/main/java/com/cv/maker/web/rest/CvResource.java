@@ -1,16 +1,28 @@
 package com.cv.maker.web.rest;
 
 import com.cv.maker.domain.Cv;
+import com.cv.maker.domain.CvView;
 import com.cv.maker.repository.CollaboratorRepository;
 import com.cv.maker.repository.CvRepository;
+import com.cv.maker.service.BatchWriteService;
+import com.cv.maker.service.CvAggregateWriter;
 import com.cv.maker.service.CvService;
+import com.cv.maker.service.CvSummaryService;
+import com.cv.maker.service.CvViewService;
 import com.cv.maker.service.dto.CvFilter;
+import com.cv.maker.service.dto.CvSearchHit;
+import com.cv.maker.service.dto.CvSummaryDTO;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.web.rest.errors.BadRequestAlertException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,8 +30,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -36,6 +51,8 @@ public class CvResource {
 
     private static final String ENTITY_NAME = "cv";
 
+    private static final int MAX_RANKED_SIZE = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -43,10 +60,28 @@ public class CvResource {
 
     private final CvRepository cvRepository;
 
+    private final CvSummaryService cvSummaryService;
+
+    private final CvViewService cvViewService;
+
+    private final CvAggregateWriter cvAggregateWriter;
 
-    public CvResource(CvService cvService, CvRepository cvRepository) {
+    private final ObjectMapper objectMapper;
+
+    public CvResource(
+        CvService cvService,
+        CvRepository cvRepository,
+        CvSummaryService cvSummaryService,
+        CvViewService cvViewService,
+        CvAggregateWriter cvAggregateWriter,
+        ObjectMapper objectMapper
+    ) {
         this.cvService = cvService;
         this.cvRepository = cvRepository;
+        this.cvSummaryService = cvSummaryService;
+        this.cvViewService = cvViewService;
+        this.cvAggregateWriter = cvAggregateWriter;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -69,6 +104,30 @@ public class CvResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /cv-aggregates} : Create a new cv with its new skills, experiences, studies and languages in one request.
+     * <p>
+     * Children without an id are created, children with an id reference existing entities. The cv is created entirely or
+     * not at all.
+     *
+     * @param cv the cv to create, with its children.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new cv, or with status {@code 400 (Bad Request)}
+     * if the cv has already an ID, or if a child is invalid or couldn't be created.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/cv-aggregates")
+    public ResponseEntity<Cv> createCvAggregate(@RequestBody Cv cv) throws URISyntaxException {
+        log.debug("REST request to save Cv aggregate : {}", cv);
+        if (cv.getId() != null) {
+            throw new BadRequestAlertException("A new cv cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        Cv result = cvAggregateWriter.create(cv);
+        return ResponseEntity
+            .created(new URI("/api/cvs/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId()))
+            .body(result);
+    }
+
     /**
      * {@code PUT  /cvs/:id} : Updates an existing cv.
      *
@@ -132,28 +191,99 @@ public class CvResource {
     /**
      * {@code GET  /cvs} : get all the cvs.
      *
+     * @param cursor the cursor of the slice to get, empty for the first slice. When present, the list is read by keyset pagination
+     * on the ids instead of by page, and the next slice is given by the {@code Link} and {@code X-Next-Cursor} headers.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cvs in body.
      */
     @GetMapping("/cvs")
-    public ResponseEntity<List<Cv>> getAllCvs(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<Cv>> getAllCvs(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        if (cursor != null) {
+            log.debug("REST request to get a slice of Cvs");
+            KeysetPage<Cv> slice = cvService.findAll(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of Cvs");
         Page<Cv> page = cvService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /cv-summaries} : get the summaries of all the cvs, for list views.
+     *
+     * @param fields the summary fields to return, defaults to the title, the collaborator name and the skills. The id is always returned.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cv summaries in body,
+     * or with status {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping("/cv-summaries")
+    public ResponseEntity<List<CvSummaryDTO>> getAllCvSummaries(
+        @RequestParam(value = "fields", required = false) Set<String> fields,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get a page of Cv summaries");
+        if (fields == null || fields.isEmpty()) {
+            fields = CvSummaryService.DEFAULT_FIELDS;
+        }
+        if (!fields.stream().allMatch(CvSummaryService::isSummaryField)) {
+            throw new BadRequestAlertException("Invalid fields", ENTITY_NAME, "fieldsinvalid");
+        }
+        Page<CvSummaryDTO> page = cvSummaryService.findAll(pageable, fields);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /cv-views} : get the read views of all the cvs, with their references embedded.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cv views in body.
+     */
+    @GetMapping("/cv-views")
+    public ResponseEntity<List<CvView>> getAllCvViews(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+        log.debug("REST request to get a page of Cv views");
+        Page<CvView> page = cvViewService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /cv-views/:id} : get the read view of the "id" cv, with its references embedded.
+     *
+     * @param id the id of the cv to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cv view, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/cv-views/{id}")
+    public ResponseEntity<CvView> getCvView(@PathVariable String id) {
+        log.debug("REST request to get Cv view : {}", id);
+        return ResponseUtil.wrapOrNotFound(cvViewService.findOne(id));
+    }
+
     /**
      * {@code GET  /cvs/:id} : get the "id" cv.
      *
      * @param id the id of the cv to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cv, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, answered with status {@code 304 (Not Modified)} if its {@code If-None-Match} header matches the
+     * version of the cv.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cv and its version as {@code ETag} header,
+     * or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/cvs/{id}")
-    public ResponseEntity<Cv> getCv(@PathVariable String id) {
+    public ResponseEntity<Cv> getCv(@PathVariable String id, WebRequest webRequest) {
         log.debug("REST request to get Cv : {}", id);
+        Optional<String> eTag = cvService.findLastModifiedDate(id).map(ETagUtil::eTag);
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
         Optional<Cv> cv = cvService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(cv);
+        HttpHeaders headers = new HttpHeaders();
+        eTag.ifPresent(headers::setETag);
+        return ResponseUtil.wrapOrNotFound(cv, headers);
     }
 
     /**
@@ -169,9 +299,81 @@ public class CvResource {
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build();
     }
 
+    /**
+     * {@code POST  /cvs/batch-delete} : delete a batch of cvs, their children are deleted asynchronously.
+     *
+     * @param ids the ids of the cvs to delete.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/cvs/batch-delete")
+    public ResponseEntity<Void> deleteCvs(@RequestBody List<String> ids) {
+        log.debug("REST request to delete a batch of Cvs : {}", ids);
+        BatchWriteService.checkBatchSize(ENTITY_NAME, ids);
+        cvService.deleteAll(ids);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * {@code POST  /cvs-filtered} : get the cvs having at least one skill matching one of the filter skills.
+     *
+     * @param cvFilter the filter.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of matching cvs in body.
+     */
     @PostMapping("/cvs-filtered")
-    public ResponseEntity<List<Cv>> findCvsByFilter(@RequestBody CvFilter cvFilter) {
-        List<Cv> cvs = cvService.findCvsByFilter(cvFilter);
-        return ResponseEntity.ok().body(cvs);
+    public ResponseEntity<List<Cv>> findCvsByFilter(
+        @RequestBody CvFilter cvFilter,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to get a page of Cvs by filter");
+        Page<Cv> page = cvService.findCvsByFilter(cvFilter, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code POST  /cvs-filtered/stream} : stream the cvs having at least one skill matching one of the filter skills.
+     *
+     * @param cvFilter the filter.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the matching cvs in body, as newline delimited JSON
+     * written as they are loaded.
+     */
+    @PostMapping(value = "/cvs-filtered/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCvsByFilter(@RequestBody CvFilter cvFilter) {
+        log.debug("REST request to stream Cvs by filter");
+        StreamingResponseBody body = outputStream ->
+            cvService.forEachCvByFilter(
+                cvFilter,
+                cv -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(cv));
+                        outputStream.write('\n');
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            );
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * {@code POST  /cvs-ranked} : get the cvs best matching the filter skills, by descending relevance score.
+     *
+     * @param cvFilter the filter.
+     * @param size the maximum number of cvs to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of best matching cvs with their score in body,
+     * or with status {@code 400 (Bad Request)} if the size is not valid.
+     */
+    @PostMapping("/cvs-ranked")
+    public ResponseEntity<List<CvSearchHit>> findTopCvsByFilter(
+        @RequestBody CvFilter cvFilter,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        log.debug("REST request to get the top {} Cvs by filter", size);
+        if (size < 1 || size > MAX_RANKED_SIZE) {
+            throw new BadRequestAlertException("Invalid size", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok().body(cvService.findTopCvsByFilter(cvFilter, size));
     }
 }
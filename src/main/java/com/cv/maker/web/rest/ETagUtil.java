@@ -0,0 +1,42 @@
+package com.cv.maker.web.rest;
+
+import java.time.Instant;
+
+/**
+ * Utility class for the entity tags of the entities served with conditional requests.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {}
+
+    /**
+     * Generate the strong entity tag of a version of an entity.
+     *
+     * @param lastModifiedDate the last modified date of the entity.
+     * @return the quoted entity tag.
+     */
+    public static String eTag(Instant lastModifiedDate) {
+        return "\"" + Long.toHexString(lastModifiedDate.toEpochMilli()) + "\"";
+    }
+
+    /**
+     * Generate the strong entity tag of a content addressed by its digest.
+     *
+     * @param digest the digest of the content.
+     * @return the quoted entity tag.
+     */
+    public static String eTag(String digest) {
+        return "\"" + digest + "\"";
+    }
+
+    /**
+     * Generate the strong entity tag of a content addressed by its digest, served in a content encoding.
+     *
+     * @param digest the digest of the content.
+     * @param contentEncoding the content encoding, or {@code null} if the content is served as is.
+     * @return the quoted entity tag.
+     */
+    public static String eTag(String digest, String contentEncoding) {
+        return contentEncoding == null ? eTag(digest) : "\"" + digest + "-" + contentEncoding + "\"";
+    }
+}
@@ -2,7 +2,10 @@ package com.cv.maker.web.rest;
 
 import com.cv.maker.domain.Experience;
 import com.cv.maker.repository.ExperienceRepository;
+import com.cv.maker.service.BatchWriteService;
 import com.cv.maker.service.ExperienceService;
+import com.cv.maker.service.dto.BatchItemResult;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -139,11 +142,22 @@ public class ExperienceResource {
     /**
      * {@code GET  /experiences} : get all the experiences.
      *
+     * @param cursor the cursor of the slice to get, empty for the first slice. When present, the list is read by keyset pagination
+     * on the ids instead of by page, and the next slice is given by the {@code Link} and {@code X-Next-Cursor} headers.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of experiences in body.
      */
     @GetMapping("/experiences")
-    public ResponseEntity<List<Experience>> getAllExperiences(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<Experience>> getAllExperiences(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        if (cursor != null) {
+            log.debug("REST request to get a slice of Experiences");
+            KeysetPage<Experience> slice = experienceService.findAll(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of Experiences");
         Page<Experience> page = experienceService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -175,4 +189,46 @@ public class ExperienceResource {
         experienceService.delete(id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build();
     }
+
+    /**
+     * {@code POST  /experiences/batch} : Create a batch of new experiences.
+     *
+     * @param experiences the experiences to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each experience,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/experiences/batch")
+    public ResponseEntity<List<BatchItemResult<Experience>>> createExperiences(@RequestBody List<Experience> experiences) {
+        log.debug("REST request to save a batch of Experiences : {}", experiences.size());
+        BatchWriteService.checkBatchSize(ENTITY_NAME, experiences);
+        return ResponseEntity.ok(experienceService.createAll(experiences));
+    }
+
+    /**
+     * {@code PUT  /experiences/batch} : Updates a batch of existing experiences.
+     *
+     * @param experiences the experiences to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each experience,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PutMapping("/experiences/batch")
+    public ResponseEntity<List<BatchItemResult<Experience>>> updateExperiences(@RequestBody List<Experience> experiences) {
+        log.debug("REST request to update a batch of Experiences : {}", experiences.size());
+        BatchWriteService.checkBatchSize(ENTITY_NAME, experiences);
+        return ResponseEntity.ok(experienceService.updateAll(experiences));
+    }
+
+    /**
+     * {@code POST  /experiences/batch-delete} : delete a batch of experiences.
+     *
+     * @param ids the ids of the experiences to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each id,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/experiences/batch-delete")
+    public ResponseEntity<List<BatchItemResult<Experience>>> deleteExperiences(@RequestBody List<String> ids) {
+        log.debug("REST request to delete a batch of Experiences : {}", ids);
+        BatchWriteService.checkBatchSize(ENTITY_NAME, ids);
+        return ResponseEntity.ok(experienceService.deleteAll(ids));
+    }
 }
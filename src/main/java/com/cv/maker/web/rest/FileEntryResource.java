@@ -1,25 +1,35 @@
 package com.cv.maker.web.rest;
 
 import com.cv.maker.domain.FileEntry;
+import com.cv.maker.domain.enumeration.Rendition;
 import com.cv.maker.repository.FileEntryRepository;
+import com.cv.maker.service.FileEntryContent;
 import com.cv.maker.service.FileEntryService;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.web.rest.errors.BadRequestAlertException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
@@ -37,6 +47,8 @@ public class FileEntryResource {
 
     private static final String ENTITY_NAME = "fileEntry";
 
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue() + ", immutable";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -140,13 +152,25 @@ public class FileEntryResource {
     }
 
     /**
-     * {@code GET  /file-entries} : get all the fileEntries.
+     * {@code GET  /file-entries} : get all the fileEntries, with the content type, size and digest of their content but without
+     * their data, which is served by {@code GET  /file-entries/:id/data}.
      *
+     * @param cursor the cursor of the slice to get, empty for the first slice. When present, the list is read by keyset pagination
+     * on the ids instead of by page, and the next slice is given by the {@code Link} and {@code X-Next-Cursor} headers.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of fileEntries in body.
      */
     @GetMapping("/file-entries")
-    public ResponseEntity<List<FileEntry>> getAllFileEntries(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<FileEntry>> getAllFileEntries(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        if (cursor != null) {
+            log.debug("REST request to get a slice of FileEntries");
+            KeysetPage<FileEntry> slice = fileEntryService.findAll(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of FileEntries");
         Page<FileEntry> page = fileEntryService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -157,13 +181,114 @@ public class FileEntryResource {
      * {@code GET  /file-entries/:id} : get the "id" fileEntry.
      *
      * @param id the id of the fileEntry to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the fileEntry, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, answered with status {@code 304 (Not Modified)} if its {@code If-None-Match} header matches the
+     * version of the fileEntry.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the fileEntry and its version as {@code ETag} header,
+     * or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/file-entries/{id}")
-    public ResponseEntity<FileEntry> getFileEntry(@PathVariable String id) {
+    public ResponseEntity<FileEntry> getFileEntry(@PathVariable String id, WebRequest webRequest) {
         log.debug("REST request to get FileEntry : {}", id);
+        Optional<String> eTag = fileEntryService.findLastModifiedDate(id).map(ETagUtil::eTag);
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
         Optional<FileEntry> fileEntry = fileEntryService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(fileEntry);
+        HttpHeaders headers = new HttpHeaders();
+        eTag.ifPresent(headers::setETag);
+        return ResponseUtil.wrapOrNotFound(fileEntry, headers);
+    }
+
+    /**
+     * {@code GET  /file-entries/:id/data} : get the binary content of the "id" fileEntry, streamed from the storage.
+     * <p>
+     * {@code Range} requests are answered with the requested byte ranges. A compressed content is served as stored, with its
+     * {@code Content-Encoding}, to the clients accepting it, and decompressed for the others. The {@code ETag} of the content
+     * is its SHA-256 digest, suffixed with its encoding when it is served compressed: the content is cached for good when it
+     * is requested with its current version, and is revalidated otherwise. The original content is served while the requested
+     * rendition isn't rendered.
+     *
+     * @param id the id of the fileEntry to retrieve.
+     * @param size the rendition to retrieve, {@code thumbnail} or {@code medium}, or empty for the original content.
+     * @param version the version of the content, as given by its digest.
+     * @param webRequest the request, answered with status {@code 304 (Not Modified)} if its {@code If-None-Match} header matches the
+     * version of the content.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the content of the fileEntry,
+     * or with status {@code 206 (Partial Content)} and with body the requested ranges of the content,
+     * or with status {@code 304 (Not Modified)}, or with status {@code 400 (Bad Request)} if the size is unknown,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/file-entries/{id}/data")
+    public ResponseEntity<Resource> getFileEntryData(
+        @PathVariable String id,
+        @RequestParam(value = "size", required = false) String size,
+        @RequestParam(value = "v", required = false) String version,
+        WebRequest webRequest
+    ) {
+        log.debug("REST request to get the data of FileEntry : {}", id);
+        Optional<FileEntryContent> content = Optional.empty();
+        if (size != null) {
+            content = fileEntryService.findContent(id, rendition(size));
+        }
+        if (content.isEmpty()) {
+            content = fileEntryService.findContent(id);
+        }
+        if (content.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        FileEntryContent body = content.get();
+        String contentEncoding = body.getContentEncoding();
+        boolean encoded = contentEncoding != null && accepts(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING), contentEncoding);
+        if (encoded) {
+            body = body.encoded();
+        }
+        String eTag = ETagUtil.eTag(body.getDigest(), encoded ? contentEncoding : null);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        String contentType = body.getContentType();
+        ResponseEntity.BodyBuilder response = ResponseEntity
+            .ok()
+            .contentType(contentType == null ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType(contentType))
+            .eTag(eTag)
+            .header(HttpHeaders.CACHE_CONTROL, body.getDigest().equals(version) ? IMMUTABLE : CacheControl.noCache().getHeaderValue());
+        if (contentEncoding != null) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (encoded) {
+            response.header(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Check whether an {@code Accept-Encoding} header accepts a content encoding, ignoring the encodings of quality 0.
+     */
+    private static boolean accepts(String acceptEncoding, String contentEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String accepted : acceptEncoding.split(",")) {
+            String[] parameters = accepted.split(";");
+            String coding = parameters[0].trim();
+            if (coding.equalsIgnoreCase(contentEncoding) || coding.equals("*")) {
+                for (int i = 1; i < parameters.length; i++) {
+                    if (parameters[i].trim().matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Rendition rendition(String size) {
+        try {
+            return Rendition.valueOf(size.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown size", ENTITY_NAME, "sizeinvalid");
+        }
     }
 
     /**
@@ -179,9 +304,37 @@ public class FileEntryResource {
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build();
     }
 
+    /**
+     * {@code POST  /save-file} : store an uploaded file as a new fileEntry.
+     *
+     * @param multipartFile the uploaded file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the new fileEntry, without its data,
+     * or with status {@code 413 (Payload Too Large)} if the file is too large.
+     * @throws IOException if the uploaded file can't be read.
+     */
     @PostMapping("/save-file")
     public ResponseEntity<FileEntry> saveFile(MultipartFile multipartFile) throws IOException {
+        log.debug("REST request to save a file : {}", multipartFile.getOriginalFilename());
         FileEntry fileEntry = fileEntryService.store(multipartFile);
-        return  ResponseEntity.ok().body(fileEntry);
+        return ResponseEntity.ok().body(fileEntry);
+    }
+
+    /**
+     * {@code POST  /save-file} : store the body of the request as a new fileEntry, streamed from the request without being
+     * buffered.
+     *
+     * @param content the body of the request.
+     * @param contentType the content type of the body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the new fileEntry, without its data,
+     * or with status {@code 413 (Payload Too Large)} if the body is too large.
+     */
+    @PostMapping(value = "/save-file", consumes = "!" + MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<FileEntry> saveFileContent(
+        InputStream content,
+        @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType
+    ) {
+        log.debug("REST request to save a file of type : {}", contentType);
+        FileEntry fileEntry = fileEntryService.store(content, contentType);
+        return ResponseEntity.ok().body(fileEntry);
     }
 }
@@ -3,6 +3,7 @@ package com.cv.maker.web.rest;
 import com.cv.maker.domain.HumanResource;
 import com.cv.maker.repository.HumanResourceRepository;
 import com.cv.maker.service.HumanResourceService;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -139,11 +140,22 @@ public class HumanResourceResource {
     /**
      * {@code GET  /human-resources} : get all the humanResources.
      *
+     * @param cursor the cursor of the slice to get, empty for the first slice. When present, the list is read by keyset pagination
+     * on the ids instead of by page, and the next slice is given by the {@code Link} and {@code X-Next-Cursor} headers.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of humanResources in body.
      */
     @GetMapping("/human-resources")
-    public ResponseEntity<List<HumanResource>> getAllHumanResources(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<HumanResource>> getAllHumanResources(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        if (cursor != null) {
+            log.debug("REST request to get a slice of HumanResources");
+            KeysetPage<HumanResource> slice = humanResourceService.findAll(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of HumanResources");
         Page<HumanResource> page = humanResourceService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -0,0 +1,35 @@
+package com.cv.maker.web.rest;
+
+import com.cv.maker.service.dto.KeysetPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor) pagination.
+ * <p>
+ * The next slice is advertised with a {@code Link} header of relation {@code next} and with the {@code X-Next-Cursor} header,
+ * both absent on the last slice.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate the keyset pagination headers of a slice.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param page the slice.
+     * @return the {@link HttpHeaders}.
+     */
+    public static HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, KeysetPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            String next = uriBuilder.replaceQueryParam("page").replaceQueryParam("cursor", page.getNextCursor()).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            headers.add(HEADER_NEXT_CURSOR, page.getNextCursor());
+        }
+        return headers;
+    }
+}
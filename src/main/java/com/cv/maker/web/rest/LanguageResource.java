@@ -2,7 +2,10 @@ package com.cv.maker.web.rest;
 
 import com.cv.maker.domain.Language;
 import com.cv.maker.repository.LanguageRepository;
+import com.cv.maker.service.BatchWriteService;
 import com.cv.maker.service.LanguageService;
+import com.cv.maker.service.dto.BatchItemResult;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -139,11 +142,22 @@ public class LanguageResource {
     /**
      * {@code GET  /languages} : get all the languages.
      *
+     * @param cursor the cursor of the slice to get, empty for the first slice. When present, the list is read by keyset pagination
+     * on the ids instead of by page, and the next slice is given by the {@code Link} and {@code X-Next-Cursor} headers.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of languages in body.
      */
     @GetMapping("/languages")
-    public ResponseEntity<List<Language>> getAllLanguages(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<Language>> getAllLanguages(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        if (cursor != null) {
+            log.debug("REST request to get a slice of Languages");
+            KeysetPage<Language> slice = languageService.findAll(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of Languages");
         Page<Language> page = languageService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -175,4 +189,46 @@ public class LanguageResource {
         languageService.delete(id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build();
     }
+
+    /**
+     * {@code POST  /languages/batch} : Create a batch of new languages.
+     *
+     * @param languages the languages to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each language,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/languages/batch")
+    public ResponseEntity<List<BatchItemResult<Language>>> createLanguages(@RequestBody List<Language> languages) {
+        log.debug("REST request to save a batch of Languages : {}", languages.size());
+        BatchWriteService.checkBatchSize(ENTITY_NAME, languages);
+        return ResponseEntity.ok(languageService.createAll(languages));
+    }
+
+    /**
+     * {@code PUT  /languages/batch} : Updates a batch of existing languages.
+     *
+     * @param languages the languages to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each language,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PutMapping("/languages/batch")
+    public ResponseEntity<List<BatchItemResult<Language>>> updateLanguages(@RequestBody List<Language> languages) {
+        log.debug("REST request to update a batch of Languages : {}", languages.size());
+        BatchWriteService.checkBatchSize(ENTITY_NAME, languages);
+        return ResponseEntity.ok(languageService.updateAll(languages));
+    }
+
+    /**
+     * {@code POST  /languages/batch-delete} : delete a batch of languages.
+     *
+     * @param ids the ids of the languages to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each id,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/languages/batch-delete")
+    public ResponseEntity<List<BatchItemResult<Language>>> deleteLanguages(@RequestBody List<String> ids) {
+        log.debug("REST request to delete a batch of Languages : {}", ids);
+        BatchWriteService.checkBatchSize(ENTITY_NAME, ids);
+        return ResponseEntity.ok(languageService.deleteAll(ids));
+    }
 }
@@ -1,6 +1,7 @@
 package com.cv.maker.web.rest;
 
 import com.cv.maker.service.UserService;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.service.dto.UserDTO;
 import java.util.*;
 import java.util.Collections;
@@ -35,16 +36,27 @@ public class PublicUserResource {
     /**
      * {@code GET /users} : get all users with only the public informations - calling this are allowed for anyone.
      *
+     * @param cursor the cursor of the slice to get, empty for the first slice. When present, the users are read by keyset pagination
+     * on the ids instead of by page, and the next slice is given by the {@code Link} and {@code X-Next-Cursor} headers.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
-    public ResponseEntity<List<UserDTO>> getAllPublicUsers(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<UserDTO>> getAllPublicUsers(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
         log.debug("REST request to get all public User names");
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
 
+        if (cursor != null) {
+            KeysetPage<UserDTO> slice = userService.getAllPublicUsers(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+        }
+
         final Page<UserDTO> page = userService.getAllPublicUsers(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
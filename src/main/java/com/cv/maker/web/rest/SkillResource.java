@@ -2,7 +2,10 @@ package com.cv.maker.web.rest;
 
 import com.cv.maker.domain.Skill;
 import com.cv.maker.repository.SkillRepository;
+import com.cv.maker.service.BatchWriteService;
 import com.cv.maker.service.SkillService;
+import com.cv.maker.service.dto.BatchItemResult;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -134,11 +137,22 @@ public class SkillResource {
     /**
      * {@code GET  /skills} : get all the skills.
      *
+     * @param cursor the cursor of the slice to get, empty for the first slice. When present, the list is read by keyset pagination
+     * on the ids instead of by page, and the next slice is given by the {@code Link} and {@code X-Next-Cursor} headers.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of skills in body.
      */
     @GetMapping("/skills")
-    public ResponseEntity<List<Skill>> getAllSkills(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<Skill>> getAllSkills(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        if (cursor != null) {
+            log.debug("REST request to get a slice of Skills");
+            KeysetPage<Skill> slice = skillService.findAll(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of Skills");
         Page<Skill> page = skillService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -170,4 +184,46 @@ public class SkillResource {
         skillService.delete(id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build();
     }
+
+    /**
+     * {@code POST  /skills/batch} : Create a batch of new skills.
+     *
+     * @param skills the skills to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each skill,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/skills/batch")
+    public ResponseEntity<List<BatchItemResult<Skill>>> createSkills(@RequestBody List<Skill> skills) {
+        log.debug("REST request to save a batch of Skills : {}", skills.size());
+        BatchWriteService.checkBatchSize(ENTITY_NAME, skills);
+        return ResponseEntity.ok(skillService.createAll(skills));
+    }
+
+    /**
+     * {@code PUT  /skills/batch} : Updates a batch of existing skills.
+     *
+     * @param skills the skills to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each skill,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PutMapping("/skills/batch")
+    public ResponseEntity<List<BatchItemResult<Skill>>> updateSkills(@RequestBody List<Skill> skills) {
+        log.debug("REST request to update a batch of Skills : {}", skills.size());
+        BatchWriteService.checkBatchSize(ENTITY_NAME, skills);
+        return ResponseEntity.ok(skillService.updateAll(skills));
+    }
+
+    /**
+     * {@code POST  /skills/batch-delete} : delete a batch of skills.
+     *
+     * @param ids the ids of the skills to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each id,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/skills/batch-delete")
+    public ResponseEntity<List<BatchItemResult<Skill>>> deleteSkills(@RequestBody List<String> ids) {
+        log.debug("REST request to delete a batch of Skills : {}", ids);
+        BatchWriteService.checkBatchSize(ENTITY_NAME, ids);
+        return ResponseEntity.ok(skillService.deleteAll(ids));
+    }
 }
@@ -2,7 +2,10 @@ package com.cv.maker.web.rest;
 
 import com.cv.maker.domain.Study;
 import com.cv.maker.repository.StudyRepository;
+import com.cv.maker.service.BatchWriteService;
 import com.cv.maker.service.StudyService;
+import com.cv.maker.service.dto.BatchItemResult;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -134,11 +137,22 @@ public class StudyResource {
     /**
      * {@code GET  /studies} : get all the studies.
      *
+     * @param cursor the cursor of the slice to get, empty for the first slice. When present, the list is read by keyset pagination
+     * on the ids instead of by page, and the next slice is given by the {@code Link} and {@code X-Next-Cursor} headers.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of studies in body.
      */
     @GetMapping("/studies")
-    public ResponseEntity<List<Study>> getAllStudies(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<Study>> getAllStudies(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
+        if (cursor != null) {
+            log.debug("REST request to get a slice of Studies");
+            KeysetPage<Study> slice = studyService.findAll(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of Studies");
         Page<Study> page = studyService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -170,4 +184,46 @@ public class StudyResource {
         studyService.delete(id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build();
     }
+
+    /**
+     * {@code POST  /studies/batch} : Create a batch of new studies.
+     *
+     * @param studies the studies to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each study,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/studies/batch")
+    public ResponseEntity<List<BatchItemResult<Study>>> createStudies(@RequestBody List<Study> studies) {
+        log.debug("REST request to save a batch of Studies : {}", studies.size());
+        BatchWriteService.checkBatchSize(ENTITY_NAME, studies);
+        return ResponseEntity.ok(studyService.createAll(studies));
+    }
+
+    /**
+     * {@code PUT  /studies/batch} : Updates a batch of existing studies.
+     *
+     * @param studies the studies to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each study,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PutMapping("/studies/batch")
+    public ResponseEntity<List<BatchItemResult<Study>>> updateStudies(@RequestBody List<Study> studies) {
+        log.debug("REST request to update a batch of Studies : {}", studies.size());
+        BatchWriteService.checkBatchSize(ENTITY_NAME, studies);
+        return ResponseEntity.ok(studyService.updateAll(studies));
+    }
+
+    /**
+     * {@code POST  /studies/batch-delete} : delete a batch of studies.
+     *
+     * @param ids the ids of the studies to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each id,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/studies/batch-delete")
+    public ResponseEntity<List<BatchItemResult<Study>>> deleteStudies(@RequestBody List<String> ids) {
+        log.debug("REST request to delete a batch of Studies : {}", ids);
+        BatchWriteService.checkBatchSize(ENTITY_NAME, ids);
+        return ResponseEntity.ok(studyService.deleteAll(ids));
+    }
 }
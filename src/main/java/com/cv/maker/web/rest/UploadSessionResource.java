@@ -0,0 +1,141 @@
+package com.cv.maker.web.rest;
+
+import com.cv.maker.domain.FileEntry;
+import com.cv.maker.domain.UploadSession;
+import com.cv.maker.service.FileEntryUploadService;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for the resumable uploads of {@link com.cv.maker.domain.FileEntry}, through {@link UploadSession}s.
+ * <p>
+ * A client starts a session, sends the chunks of the file with {@code PUT} in any order, sending again only the chunks that
+ * failed, then completes the session to get the new fileEntry.
+ */
+@RestController
+@RequestMapping("/api")
+public class UploadSessionResource {
+
+    /**
+     * The header holding the hex SHA-256 checksum of a chunk.
+     */
+    public static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-SHA256";
+
+    private final Logger log = LoggerFactory.getLogger(UploadSessionResource.class);
+
+    private static final String ENTITY_NAME = "uploadSession";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final FileEntryUploadService fileEntryUploadService;
+
+    public UploadSessionResource(FileEntryUploadService fileEntryUploadService) {
+        this.fileEntryUploadService = fileEntryUploadService;
+    }
+
+    /**
+     * {@code POST  /upload-sessions} : start an upload session.
+     *
+     * @param uploadSession the session to start, with the content type of the file to upload.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new session.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/upload-sessions")
+    public ResponseEntity<UploadSession> createUploadSession(@RequestBody UploadSession uploadSession) throws URISyntaxException {
+        log.debug("REST request to start UploadSession : {}", uploadSession);
+        UploadSession result = fileEntryUploadService.init(uploadSession.getContentType());
+        return ResponseEntity
+            .created(new URI("/api/upload-sessions/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId()))
+            .body(result);
+    }
+
+    /**
+     * {@code GET  /upload-sessions/:id} : get the "id" upload session, with the indexes of the chunks received so far.
+     *
+     * @param id the id of the session to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the session, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/upload-sessions/{id}")
+    public ResponseEntity<UploadSession> getUploadSession(@PathVariable String id) {
+        log.debug("REST request to get UploadSession : {}", id);
+        return ResponseUtil.wrapOrNotFound(fileEntryUploadService.findOne(id));
+    }
+
+    /**
+     * {@code PUT  /upload-sessions/:id/chunks/:index} : store a chunk of the "id" upload session, streamed from the request
+     * without being buffered, replacing the chunk previously sent at the same index.
+     *
+     * @param id the id of the session.
+     * @param index the index of the chunk, from 0.
+     * @param content the body of the request.
+     * @param checksum the hex SHA-256 checksum of the chunk.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 400 (Bad Request)} if the chunk doesn't match its checksum,
+     * or with status {@code 413 (Payload Too Large)} if the chunk takes the session past the maximum size,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @PutMapping("/upload-sessions/{id}/chunks/{index}")
+    public ResponseEntity<Void> putChunk(
+        @PathVariable String id,
+        @PathVariable int index,
+        InputStream content,
+        @RequestHeader(CHUNK_CHECKSUM_HEADER) String checksum
+    ) {
+        log.debug("REST request to store chunk {} of UploadSession : {}", index, id);
+        if (index < 0) {
+            throw new BadRequestAlertException("Invalid chunk index", ENTITY_NAME, "indexinvalid");
+        }
+        if (!fileEntryUploadService.storeChunk(id, index, content, checksum)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * {@code POST  /upload-sessions/:id/complete} : complete the "id" upload session, assembling its chunks into a new
+     * fileEntry.
+     *
+     * @param id the id of the session.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new fileEntry, without its data,
+     * or with status {@code 400 (Bad Request)} if a chunk is missing,
+     * or with status {@code 413 (Payload Too Large)} if the file is too large,
+     * or with status {@code 404 (Not Found)}.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/upload-sessions/{id}/complete")
+    public ResponseEntity<FileEntry> completeUploadSession(@PathVariable String id) throws URISyntaxException {
+        log.debug("REST request to complete UploadSession : {}", id);
+        Optional<FileEntry> result = fileEntryUploadService.complete(id);
+        if (result.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity
+            .created(new URI("/api/file-entries/" + result.get().getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, "fileEntry", result.get().getId()))
+            .body(result.get());
+    }
+
+    /**
+     * {@code DELETE  /upload-sessions/:id} : abort the "id" upload session, deleting its chunks.
+     *
+     * @param id the id of the session to delete.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/upload-sessions/{id}")
+    public ResponseEntity<Void> deleteUploadSession(@PathVariable String id) {
+        log.debug("REST request to delete UploadSession : {}", id);
+        fileEntryUploadService.delete(id);
+        return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build();
+    }
+}
@@ -7,6 +7,7 @@ import com.cv.maker.security.AuthoritiesConstants;
 import com.cv.maker.service.MailService;
 import com.cv.maker.service.UserService;
 import com.cv.maker.service.dto.AdminUserDTO;
+import com.cv.maker.service.dto.KeysetPage;
 import com.cv.maker.service.dto.UserPassword;
 import com.cv.maker.web.rest.errors.BadRequestAlertException;
 import com.cv.maker.web.rest.errors.EmailAlreadyUsedException;
@@ -159,17 +160,28 @@ public class UserResource {
     /**
      * {@code GET /admin/users} : get all users with all the details - calling this are only allowed for the administrators.
      *
+     * @param cursor the cursor of the slice to get, empty for the first slice. When present, the users are read by keyset pagination
+     * on the ids instead of by page, and the next slice is given by the {@code Link} and {@code X-Next-Cursor} headers.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    public ResponseEntity<List<AdminUserDTO>> getAllUsers(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<AdminUserDTO>> getAllUsers(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+    ) {
         log.debug("REST request to get all User for an admin");
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
 
+        if (cursor != null) {
+            KeysetPage<AdminUserDTO> slice = userService.getAllManagedUsers(cursor, pageable.getPageSize());
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+        }
+
         final Page<AdminUserDTO> page = userService.getAllManagedUsers(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
@@ -149,6 +149,52 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(new InvalidPasswordException(), request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleInvalidCursorException(com.cv.maker.service.InvalidCursorException ex, NativeWebRequest request) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "pagination", "cursorinvalid"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleCvAggregateException(com.cv.maker.service.CvAggregateException ex, NativeWebRequest request) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "cv", "aggregateinvalid"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleBatchTooLargeException(com.cv.maker.service.BatchTooLargeException ex, NativeWebRequest request) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), ex.getEntityName(), "batchtoolarge"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleFileTooLargeException(com.cv.maker.service.FileTooLargeException ex, NativeWebRequest request) {
+        Problem problem = Problem
+            .builder()
+            .withType(ErrorConstants.DEFAULT_TYPE)
+            .withTitle(ex.getMessage())
+            .withStatus(Status.REQUEST_ENTITY_TOO_LARGE)
+            .with(MESSAGE_KEY, "error.filetoolarge")
+            .with("params", "fileEntry")
+            .build();
+        return create(
+            ex,
+            problem,
+            request,
+            HeaderUtil.createFailureAlert(applicationName, true, "fileEntry", "filetoolarge", ex.getMessage())
+        );
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleChunkChecksumException(com.cv.maker.service.ChunkChecksumException ex, NativeWebRequest request) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "uploadSession", "checksuminvalid"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleIncompleteUploadException(
+        com.cv.maker.service.IncompleteUploadException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "uploadSession", "uploadincomplete"), request);
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleBadRequestAlertException(BadRequestAlertException ex, NativeWebRequest request) {
         return create(
@@ -0,0 +1,125 @@
+package com.cv.maker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cv.maker.IntegrationTest;
+import com.cv.maker.domain.Cv;
+import com.cv.maker.domain.Skill;
+import com.cv.maker.repository.CvRepository;
+import com.cv.maker.repository.SkillRepository;
+import com.cv.maker.service.dto.CvFilter;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the {@link CvFilterEngine} implementations.
+ */
+@IntegrationTest
+class CvFilterEngineIT {
+
+    @Autowired
+    private CvRepository cvRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private SkillService skillService;
+
+    @Autowired
+    private IndexCvFilterEngine indexCvFilterEngine;
+
+    @Autowired
+    private AggregationCvFilterEngine aggregationCvFilterEngine;
+
+    @Autowired
+    private SnapshotCvFilterEngine snapshotCvFilterEngine;
+
+    private Cv javaCv;
+
+    private Cv pythonCv;
+
+    @BeforeEach
+    public void init() {
+        cvRepository.deleteAll();
+        skillRepository.deleteAll();
+        Skill java = new Skill().name("Java");
+        java.setLevel("EXPERT");
+        Skill python = new Skill().name("Python");
+        python.setLevel("BEGINNER");
+        skillRepository.saveAll(List.of(java, python));
+        javaCv = new Cv().email("java@localhost");
+        javaCv.setSkills(List.of(java));
+        pythonCv = new Cv().email("python@localhost");
+        pythonCv.setSkills(List.of(python));
+        cvRepository.saveAll(List.of(javaCv, pythonCv, new Cv().email("none@localhost")));
+    }
+
+    @Test
+    void assertThatEnginesMatchOnPartialNameIgnoringCase() {
+        CvFilter cvFilter = filter(new Skill().name("JAV"));
+
+        assertThat(indexCvFilterEngine.findCvIds(cvFilter)).containsExactly(javaCv.getId());
+        assertThat(aggregationCvFilterEngine.findCvIds(cvFilter)).containsExactly(javaCv.getId());
+        assertThat(snapshotCvFilterEngine.findCvIds(cvFilter)).containsExactly(javaCv.getId());
+    }
+
+    @Test
+    void assertThatEnginesMatchOnExactLevel() {
+        Skill byLevel = new Skill();
+        byLevel.setLevel("BEGINNER");
+        CvFilter cvFilter = filter(byLevel);
+
+        assertThat(indexCvFilterEngine.findCvIds(cvFilter)).containsExactly(pythonCv.getId());
+        assertThat(aggregationCvFilterEngine.findCvIds(cvFilter)).containsExactly(pythonCv.getId());
+        assertThat(snapshotCvFilterEngine.findCvIds(cvFilter)).containsExactly(pythonCv.getId());
+    }
+
+    @Test
+    void assertThatEnginesUnionTheFilterSkills() {
+        CvFilter cvFilter = filter(new Skill().name("java"), new Skill().name("python"));
+
+        assertThat(indexCvFilterEngine.findCvIds(cvFilter)).containsExactlyInAnyOrder(javaCv.getId(), pythonCv.getId());
+        assertThat(aggregationCvFilterEngine.findCvIds(cvFilter)).containsExactlyInAnyOrder(javaCv.getId(), pythonCv.getId());
+        assertThat(snapshotCvFilterEngine.findCvIds(cvFilter)).containsExactlyInAnyOrder(javaCv.getId(), pythonCv.getId());
+    }
+
+    @Test
+    void assertThatSnapshotsFollowSkillUpdates() {
+        Skill python = pythonCv.getSkills().get(0);
+        python.setName("Javascript");
+        skillService.save(python);
+
+        assertThat(cvRepository.findById(pythonCv.getId()).get().getSkillSnapshots()).extracting("name").containsExactly("Javascript");
+        assertThat(snapshotCvFilterEngine.findCvIds(filter(new Skill().name("java"))))
+            .containsExactlyInAnyOrder(javaCv.getId(), pythonCv.getId());
+
+        skillService.delete(python.getId());
+
+        assertThat(cvRepository.findById(pythonCv.getId()).get().getSkillSnapshots()).isEmpty();
+    }
+
+    @Test
+    void assertThatSnapshotsFollowUpdatesOfRepeatedSkills() {
+        Skill java = javaCv.getSkills().get(0);
+        javaCv.setSkills(List.of(java, java));
+        cvRepository.save(javaCv);
+        java.setName("Kotlin");
+        skillService.updateAll(List.of(java));
+
+        assertThat(cvRepository.findById(javaCv.getId()).get().getSkillSnapshots()).extracting("name").containsExactly("Kotlin", "Kotlin");
+
+        java.setName("Scala");
+        skillService.save(java);
+
+        assertThat(cvRepository.findById(javaCv.getId()).get().getSkillSnapshots()).extracting("name").containsExactly("Scala", "Scala");
+    }
+
+    private static CvFilter filter(Skill... skills) {
+        CvFilter cvFilter = new CvFilter();
+        cvFilter.setSkills(List.of(skills));
+        return cvFilter;
+    }
+}
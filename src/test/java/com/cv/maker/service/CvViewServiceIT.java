@@ -0,0 +1,73 @@
+package com.cv.maker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cv.maker.IntegrationTest;
+import com.cv.maker.domain.Cv;
+import com.cv.maker.domain.CvView;
+import com.cv.maker.repository.CvRepository;
+import com.cv.maker.repository.CvViewRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Integration tests for {@link CvViewService}.
+ */
+@IntegrationTest
+class CvViewServiceIT {
+
+    @Autowired
+    private CvRepository cvRepository;
+
+    @Autowired
+    private CvViewRepository cvViewRepository;
+
+    @Autowired
+    private CvViewService cvViewService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private Cv cv;
+
+    @BeforeEach
+    public void init() {
+        cvRepository.deleteAll();
+        cvViewRepository.deleteAll();
+        cv = new Cv();
+        cv.setTitle("Developer");
+        cv = cvRepository.save(cv);
+    }
+
+    @Test
+    void refreshView() {
+        cvViewService.refresh(List.of(cv.getId()));
+
+        CvView view = cvViewRepository.findById(cv.getId()).orElseThrow();
+        assertThat(view.getTitle()).isEqualTo("Developer");
+        assertThat(view.getCvLastModifiedDate()).isEqualTo(cv.getLastModifiedDate().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    void keepNewerView() {
+        cvViewService.refresh(List.of(cv.getId()));
+        // A view built from a later version of the cv, stored by a concurrent refresh
+        mongoTemplate.updateFirst(
+            Query.query(Criteria.where("_id").is(cv.getId())),
+            new Update().set("title", "Architect").set("cv_last_modified_date", Instant.now().plus(1, ChronoUnit.HOURS)),
+            CvView.class
+        );
+
+        cvViewService.refresh(List.of(cv.getId()));
+
+        assertThat(cvViewRepository.findById(cv.getId()).orElseThrow().getTitle()).isEqualTo("Architect");
+    }
+}
@@ -0,0 +1,186 @@
+package com.cv.maker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Unit tests for {@link FileEntryDiskCache}, filled synchronously unless stated otherwise.
+ */
+class FileEntryDiskCacheTest {
+
+    private static final DataSize MAX_SIZE = DataSize.ofBytes(10);
+
+    @TempDir
+    Path directory;
+
+    private GridFsTemplate gridFsTemplate;
+
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * The GridFS files that aren't deleted.
+     */
+    private final List<Document> storedFiles = new ArrayList<>();
+
+    private FileEntryDiskCache fileEntryDiskCache;
+
+    @BeforeEach
+    public void init() {
+        gridFsTemplate = mock(GridFsTemplate.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("fs.files"))).thenReturn(storedFiles);
+        fileEntryDiskCache = newFileEntryDiskCache(Runnable::run);
+    }
+
+    @Test
+    void evictLeastRecentlyUsedContents() {
+        FileEntryContent first = content("first", new byte[4]);
+        FileEntryContent second = content("second", new byte[4]);
+        FileEntryContent third = content("third", new byte[4]);
+
+        // The first read of a content fills the cache
+        assertThat(fileEntryDiskCache.get(first)).isEmpty();
+        assertThat(fileEntryDiskCache.get(second)).isEmpty();
+        assertThat(fileEntryDiskCache.get(first)).contains(cachedFile(first));
+
+        // Filling past the max size evicts the least recently used content
+        assertThat(fileEntryDiskCache.get(third)).isEmpty();
+        assertThat(cachedFile(first)).exists();
+        assertThat(cachedFile(second)).doesNotExist();
+        assertThat(cachedFile(third)).exists();
+    }
+
+    @Test
+    void skipContentLargerThanMaxSize() {
+        FileEntryContent content = content("large", new byte[11]);
+
+        assertThat(fileEntryDiskCache.get(content)).isEmpty();
+        assertThat(fileEntryDiskCache.get(content)).isEmpty();
+        verify(gridFsTemplate, never()).getResource(any(GridFSFile.class));
+    }
+
+    @Test
+    void loadCachedFiles() throws Exception {
+        FileEntryContent content = content("first", new byte[4]);
+        FileEntryContent deleted = content("second", new byte[4]);
+        Files.write(cachedFile(content), new byte[4]);
+        Files.write(cachedFile(deleted), new byte[4]);
+        Path temp = Files.createTempFile(directory, content.getFileId().toHexString(), ".tmp");
+        storedFiles.add(new Document("_id", content.getFileId()));
+
+        // The files left by a previous run are indexed, the partly written ones and those of deleted GridFS files are deleted
+        fileEntryDiskCache = newFileEntryDiskCache(Runnable::run);
+
+        assertThat(temp).doesNotExist();
+        assertThat(cachedFile(deleted)).doesNotExist();
+        assertThat(fileEntryDiskCache.get(content)).contains(cachedFile(content));
+        verify(gridFsTemplate, never()).getResource(any(GridFSFile.class));
+    }
+
+    @Test
+    void dropContentRemovedWhileFilled() {
+        List<Runnable> fills = new ArrayList<>();
+        fileEntryDiskCache = newFileEntryDiskCache(fills::add);
+        FileEntryContent content = content("first", new byte[4]);
+
+        // The GridFS file is deleted while its content is being cached
+        assertThat(fileEntryDiskCache.get(content)).isEmpty();
+        fileEntryDiskCache.remove(content.getFileId());
+        fills.forEach(Runnable::run);
+
+        assertThat(cachedFile(content)).doesNotExist();
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void readFromStorageWhenEvicted() throws Exception {
+        byte[] data = new byte[] { 1, 2, 3 };
+        FileEntryContent content = content("first", data);
+        fileEntryDiskCache.get(content);
+        FileEntryContent cached = content.withCachedFile(fileEntryDiskCache.get(content).orElseThrow());
+
+        // The cached file is evicted between the lookup and the read
+        fileEntryDiskCache.remove(content.getFileId());
+
+        try (InputStream in = cached.getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(data);
+        }
+        verify(gridFsTemplate, times(2)).getResource(any(GridFSFile.class));
+    }
+
+    @Test
+    void readRangesFromCachedFile() throws Exception {
+        byte[] data = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 };
+        FileEntryContent content = content("first", data);
+        fileEntryDiskCache.get(content);
+        FileEntryContent cached = content.withCachedFile(fileEntryDiskCache.get(content).orElseThrow());
+
+        // A range read from a stream skips to its start
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+        try (InputStream in = cached.getInputStream()) {
+            StreamUtils.copyRange(in, range, 2, 5);
+        }
+        assertThat(range.toByteArray()).isEqualTo(new byte[] { 3, 4, 5, 6 });
+
+        // A skip moves the position in the file, up to its end
+        try (InputStream in = cached.getInputStream()) {
+            assertThat(in.skip(6)).isEqualTo(6);
+            assertThat(in.readAllBytes()).isEqualTo(new byte[] { 7, 8 });
+            assertThat(in.skip(1)).isZero();
+        }
+
+        // Only the fill read the storage
+        verify(gridFsTemplate, times(1)).getResource(any(GridFSFile.class));
+    }
+
+    private FileEntryDiskCache newFileEntryDiskCache(Executor executor) {
+        FileEntryProperties properties = new FileEntryProperties();
+        properties.getCache().setDirectory(directory.toString());
+        properties.getCache().setMaxSize(MAX_SIZE);
+        FileEntryDiskCache cache = new FileEntryDiskCache(properties, executor, mongoTemplate);
+        cache.load();
+        return cache;
+    }
+
+    private FileEntryContent content(String digest, byte[] data) {
+        GridFSFile file = new GridFSFile(
+            new BsonObjectId(new ObjectId()),
+            "content",
+            data.length,
+            255,
+            new Date(),
+            new Document(FileEntryContent.DIGEST, digest)
+        );
+        when(gridFsTemplate.getResource(file)).thenAnswer(invocation -> new GridFsResource(file, new ByteArrayInputStream(data)));
+        return new FileEntryContent(file, gridFsTemplate);
+    }
+
+    private Path cachedFile(FileEntryContent content) {
+        return directory.resolve(content.getFileId().toHexString());
+    }
+}
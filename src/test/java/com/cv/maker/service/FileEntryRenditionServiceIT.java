@@ -0,0 +1,110 @@
+package com.cv.maker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cv.maker.IntegrationTest;
+import com.cv.maker.domain.FileEntry;
+import com.cv.maker.domain.enumeration.Rendition;
+import com.cv.maker.repository.FileEntryRepository;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link FileEntryRenditionService}.
+ */
+@IntegrationTest
+class FileEntryRenditionServiceIT {
+
+    @Autowired
+    private FileEntryRepository fileEntryRepository;
+
+    @Autowired
+    private FileEntryContentService fileEntryContentService;
+
+    @Autowired
+    private FileEntryRenditionService fileEntryRenditionService;
+
+    private FileEntry original;
+
+    @BeforeEach
+    public void init() throws Exception {
+        fileEntryRepository.deleteAll();
+        original = saveImage(1000, 500);
+    }
+
+    @Test
+    void renderRenditions() throws Exception {
+        fileEntryRenditionService.render(original.getId());
+
+        assertSize(Rendition.THUMBNAIL, 128, 64);
+        assertSize(Rendition.MEDIUM, 640, 320);
+    }
+
+    @Test
+    void deleteRenditionsWithOriginal() {
+        fileEntryRenditionService.render(original.getId());
+
+        fileEntryRepository.deleteById(original.getId());
+
+        assertThat(fileEntryRepository.findAll()).isEmpty();
+        assertThat(fileEntryRenditionService.findContent(original.getId(), Rendition.THUMBNAIL)).isEmpty();
+    }
+
+    @Test
+    void renderSubsampledRenditions() throws Exception {
+        original = saveImage(3000, 1500);
+
+        fileEntryRenditionService.render(original.getId());
+
+        assertSize(Rendition.THUMBNAIL, 128, 64);
+        assertSize(Rendition.MEDIUM, 640, 320);
+    }
+
+    @Test
+    void skipRenditionsOfTooLargeImage() throws Exception {
+        original = saveImage(FileEntryRenditionService.MAX_DIMENSION + 1, 1);
+
+        fileEntryRenditionService.render(original.getId());
+
+        assertThat(fileEntryRenditionService.findContent(original.getId(), Rendition.THUMBNAIL)).isEmpty();
+        assertThat(fileEntryRenditionService.findContent(original.getId(), Rendition.MEDIUM)).isEmpty();
+    }
+
+    @Test
+    void deleteRenditionsWithReplacedContent() {
+        fileEntryRenditionService.render(original.getId());
+
+        FileEntry replaced = fileEntryRepository.findById(original.getId()).orElseThrow();
+        replaced.setData("not an image".getBytes(StandardCharsets.UTF_8));
+        fileEntryRepository.save(replaced);
+
+        assertThat(fileEntryRepository.findAll()).hasSize(1);
+        assertThat(fileEntryContentService.findContent(original.getDigest())).isEmpty();
+        assertThat(fileEntryRenditionService.findContent(original.getId(), Rendition.THUMBNAIL)).isEmpty();
+    }
+
+    private FileEntry saveImage(int width, int height) throws Exception {
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", image);
+        FileEntry fileEntry = new FileEntry();
+        fileEntry.setDigest(fileEntryContentService.store(new ByteArrayInputStream(image.toByteArray()), "image/png"));
+        return fileEntryRepository.save(fileEntry);
+    }
+
+    private void assertSize(Rendition rendition, int width, int height) throws Exception {
+        FileEntryContent content = fileEntryRenditionService.findContent(original.getId(), rendition).orElseThrow();
+        assertThat(content.getContentType()).isEqualTo("image/jpeg");
+        try (InputStream in = content.getInputStream()) {
+            BufferedImage image = ImageIO.read(in);
+            assertThat(image.getWidth()).isEqualTo(width);
+            assertThat(image.getHeight()).isEqualTo(height);
+        }
+    }
+}
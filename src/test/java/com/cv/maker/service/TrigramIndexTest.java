@@ -0,0 +1,51 @@
+package com.cv.maker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TrigramIndex}.
+ */
+class TrigramIndexTest {
+
+    private TrigramIndex trigramIndex;
+
+    @BeforeEach
+    public void init() {
+        trigramIndex = new TrigramIndex();
+        trigramIndex.add("java");
+        trigramIndex.add("javascript");
+        trigramIndex.add("python");
+        trigramIndex.add("go");
+    }
+
+    @Test
+    void assertThatFragmentsAreMatchedAnywhereInTheTerms() {
+        assertThat(trigramIndex.findContaining("java")).containsExactlyInAnyOrder("java", "javascript");
+        assertThat(trigramIndex.findContaining("script")).containsExactly("javascript");
+        assertThat(trigramIndex.findContaining("rust")).isEmpty();
+    }
+
+    @Test
+    void assertThatCandidatesAreVerified() {
+        // Every trigram of "abcab" occurs in "bcabc", which doesn't contain it
+        trigramIndex.add("bcabc");
+        trigramIndex.add("abcabc");
+        assertThat(trigramIndex.findContaining("abcab")).containsExactly("abcabc");
+    }
+
+    @Test
+    void assertThatShortFragmentsAreMatched() {
+        assertThat(trigramIndex.findContaining("o")).containsExactlyInAnyOrder("python", "go");
+        assertThat(trigramIndex.findContaining("go")).containsExactly("go");
+    }
+
+    @Test
+    void assertThatRemovedTermsAreNotMatched() {
+        trigramIndex.remove("javascript");
+        assertThat(trigramIndex.findContaining("java")).containsExactly("java");
+        assertThat(trigramIndex.findContaining("scr")).isEmpty();
+    }
+}
@@ -6,17 +6,27 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.cv.maker.IntegrationTest;
+import com.cv.maker.domain.Collaborator;
 import com.cv.maker.domain.Cv;
+import com.cv.maker.domain.FileEntry;
+import com.cv.maker.domain.Skill;
+import com.cv.maker.repository.CollaboratorRepository;
 import com.cv.maker.repository.CvRepository;
+import com.cv.maker.repository.FileEntryRepository;
+import com.cv.maker.repository.SkillRepository;
+import com.cv.maker.service.dto.CvFilter;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 /**
  * Integration tests for the {@link CvResource} REST controller.
@@ -44,6 +54,15 @@ class CvResourceIT {
     @Autowired
     private CvRepository cvRepository;
 
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private FileEntryRepository fileEntryRepository;
+
+    @Autowired
+    private CollaboratorRepository collaboratorRepository;
+
     @Autowired
     private MockMvc restCvMockMvc;
 
@@ -95,6 +114,41 @@ class CvResourceIT {
         assertThat(testCv.getEmail()).isEqualTo(DEFAULT_EMAIL);
     }
 
+    @Test
+    void createCvAggregate() throws Exception {
+        Skill java = skillRepository.save(new Skill().name("Java"));
+        int cvDatabaseSizeBeforeCreate = cvRepository.findAll().size();
+        int skillDatabaseSizeBeforeCreate = skillRepository.findAll().size();
+        // Create the Cv with an existing and a new skill
+        cv.setSkills(List.of(new Skill().id(java.getId()), new Skill().name("Kotlin")));
+        restCvMockMvc
+            .perform(post("/api/cv-aggregates").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cv)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.skills.[0].id").value(java.getId()))
+            .andExpect(jsonPath("$.skills.[1].id").isNotEmpty());
+
+        // Validate the Cv and the new Skill in the database
+        assertThat(cvRepository.findAll()).hasSize(cvDatabaseSizeBeforeCreate + 1);
+        List<Skill> skillList = skillRepository.findAll();
+        assertThat(skillList).hasSize(skillDatabaseSizeBeforeCreate + 1);
+        assertThat(skillList).extracting(Skill::getName).contains("Java", "Kotlin");
+    }
+
+    @Test
+    void createCvAggregateWithUnknownReference() throws Exception {
+        int cvDatabaseSizeBeforeCreate = cvRepository.findAll().size();
+        int skillDatabaseSizeBeforeCreate = skillRepository.findAll().size();
+        // Create the Cv with a new skill and an unknown one
+        cv.setSkills(List.of(new Skill().name("Kotlin"), new Skill().id("unknown_id")));
+        restCvMockMvc
+            .perform(post("/api/cv-aggregates").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cv)))
+            .andExpect(status().isBadRequest());
+
+        // Nothing is created
+        assertThat(cvRepository.findAll()).hasSize(cvDatabaseSizeBeforeCreate);
+        assertThat(skillRepository.findAll()).hasSize(skillDatabaseSizeBeforeCreate);
+    }
+
     @Test
     void createCvWithExistingId() throws Exception {
         // Create the Cv with an existing ID
@@ -361,4 +415,312 @@ class CvResourceIT {
         List<Cv> cvList = cvRepository.findAll();
         assertThat(cvList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void batchDeleteCvs() throws Exception {
+        // Initialize the database
+        cvRepository.save(cv);
+        Cv otherCv = cvRepository.save(createEntity());
+
+        int databaseSizeBeforeDelete = cvRepository.findAll().size();
+
+        // Delete the cvs
+        restCvMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch-delete")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(cv.getId(), otherCv.getId())))
+            )
+            .andExpect(status().isNoContent());
+
+        // Validate the database contains two less items
+        List<Cv> cvList = cvRepository.findAll();
+        assertThat(cvList).hasSize(databaseSizeBeforeDelete - 2);
+    }
+
+    @Test
+    void batchDeleteCvsWithChildren() throws Exception {
+        // Initialize the database, the java skill is shared with another cv
+        Skill java = skillRepository.save(new Skill().name("Java"));
+        Skill python = skillRepository.save(new Skill().name("Python"));
+        FileEntry image = new FileEntry();
+        image.setData(new byte[] { 1, 2, 3 });
+        fileEntryRepository.save(image);
+        cv.setSkills(List.of(java, python));
+        cv.setImage(image);
+        cvRepository.save(cv);
+        Cv otherCv = createEntity();
+        otherCv.setSkills(List.of(java));
+        cvRepository.save(otherCv);
+        Collaborator collaborator = new Collaborator();
+        collaborator.setCv(cv);
+        collaboratorRepository.save(collaborator);
+
+        // Delete the cv
+        restCvMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch-delete")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(cv.getId())))
+            )
+            .andExpect(status().isNoContent());
+        assertThat(cvRepository.findById(cv.getId())).isEmpty();
+
+        // Wait for the children to be deleted on the task executor
+        await(() -> !skillRepository.existsById(python.getId()) && !fileEntryRepository.existsById(image.getId()));
+
+        // Validate the orphans are deleted, the shared skill is kept and the collaborator is unlinked
+        assertThat(skillRepository.existsById(python.getId())).isFalse();
+        assertThat(fileEntryRepository.existsById(image.getId())).isFalse();
+        assertThat(skillRepository.existsById(java.getId())).isTrue();
+        assertThat(collaboratorRepository.findById(collaborator.getId())).get().extracting(Collaborator::getCv).isNull();
+
+        collaboratorRepository.delete(collaborator);
+        cvRepository.delete(otherCv);
+    }
+
+    @Test
+    void findCvsByFilter() throws Exception {
+        // Initialize the database
+        Skill java = new Skill().name("Java");
+        java.setLevel("EXPERT");
+        skillRepository.save(java);
+        Skill python = skillRepository.save(new Skill().name("Python"));
+        cv.setSkills(List.of(java));
+        cvRepository.save(cv);
+        Cv otherCv = createEntity();
+        otherCv.setSkills(List.of(python));
+        cvRepository.save(otherCv);
+
+        CvFilter cvFilter = new CvFilter();
+        cvFilter.setSkills(List.of(new Skill().name("jav")));
+
+        // Filter the cvs on a partial skill name
+        restCvMockMvc
+            .perform(post("/api/cvs-filtered").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cvFilter)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(cv.getId()));
+
+        // A renamed skill is reflected in the filter results
+        python.setName("Javascript");
+        skillRepository.save(python);
+        restCvMockMvc
+            .perform(post("/api/cvs-filtered").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cvFilter)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2));
+
+        // The level must match exactly when given
+        cvFilter.getSkills().get(0).setLevel("EXPERT");
+        restCvMockMvc
+            .perform(post("/api/cvs-filtered").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cvFilter)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(cv.getId()));
+    }
+
+    @Test
+    void findCvsByFilterPaged() throws Exception {
+        // Initialize the database
+        Skill java = skillRepository.save(new Skill().name("Java"));
+        for (int i = 0; i < 3; i++) {
+            Cv javaCv = createEntity();
+            javaCv.setSkills(List.of(java));
+            cvRepository.save(javaCv);
+        }
+
+        CvFilter cvFilter = new CvFilter();
+        cvFilter.setSkills(List.of(new Skill().name("java")));
+
+        // Get the second page of the matching cvs
+        restCvMockMvc
+            .perform(
+                post("/api/cvs-filtered?page=1&size=2")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(cvFilter))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void streamCvsByFilter() throws Exception {
+        // Initialize the database
+        Skill java = skillRepository.save(new Skill().name("Java"));
+        cv.setSkills(List.of(java));
+        cvRepository.save(cv);
+        cvRepository.save(createEntity());
+
+        CvFilter cvFilter = new CvFilter();
+        cvFilter.setSkills(List.of(new Skill().name("java")));
+
+        // Stream the matching cvs
+        MvcResult mvcResult = restCvMockMvc
+            .perform(
+                post("/api/cvs-filtered/stream").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cvFilter))
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String body = restCvMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        assertThat(body.split("\n")).hasSize(1);
+        assertThat(body).contains(cv.getId());
+    }
+
+    @Test
+    void findTopCvsByFilter() throws Exception {
+        // Initialize the database
+        Skill java = skillRepository.save(new Skill().name("Java"));
+        Skill javascript = skillRepository.save(new Skill().name("Javascript"));
+        Skill python = skillRepository.save(new Skill().name("Python"));
+        cv.setSkills(List.of(java, python));
+        cvRepository.save(cv);
+        Cv partialCv = createEntity();
+        partialCv.setSkills(List.of(javascript));
+        cvRepository.save(partialCv);
+        Cv pythonCv = createEntity();
+        pythonCv.setSkills(List.of(python));
+        cvRepository.save(pythonCv);
+
+        CvFilter cvFilter = new CvFilter();
+        cvFilter.setSkills(List.of(new Skill().name("java"), new Skill().name("python")));
+
+        // The cv matching both skills comes first, then the cv with an exact match, and the partial match is cut by the size
+        restCvMockMvc
+            .perform(
+                post("/api/cvs-ranked?size=2").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cvFilter))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].cv.id").value(cv.getId()))
+            .andExpect(jsonPath("$.[0].score").value(2.0))
+            .andExpect(jsonPath("$.[1].cv.id").value(pythonCv.getId()))
+            .andExpect(jsonPath("$.[1].score").value(1.0));
+    }
+
+    @Test
+    void getCvNotModified() throws Exception {
+        // Initialize the database
+        cvRepository.save(cv);
+
+        // Get the cv and its version
+        String eTag = restCvMockMvc
+            .perform(get(ENTITY_API_URL_ID, cv.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The same version is not modified
+        restCvMockMvc
+            .perform(get(ENTITY_API_URL_ID, cv.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // An updated cv has a new version
+        Thread.sleep(5);
+        Cv updatedCv = cvRepository.findById(cv.getId()).get();
+        updatedCv.setTitle("Updated");
+        cvRepository.save(updatedCv);
+        restCvMockMvc
+            .perform(get(ENTITY_API_URL_ID, cv.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Updated"));
+    }
+
+    @Test
+    void getCvWithoutImageData() throws Exception {
+        // Initialize the database
+        FileEntry image = new FileEntry();
+        image.setData(new byte[] { 1, 2, 3 });
+        fileEntryRepository.save(image);
+        cv.setImage(image);
+        cvRepository.save(cv);
+
+        // Get the cv, the image is only referenced
+        restCvMockMvc
+            .perform(get(ENTITY_API_URL_ID, cv.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.image.id").value(image.getId()))
+            .andExpect(jsonPath("$.image.data").doesNotExist())
+            .andExpect(jsonPath("$.imageUrl").value("/api/file-entries/" + image.getId() + "/data"));
+
+        // Get all the cvs, the image is only referenced
+        restCvMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].image.id").value(hasItem(image.getId())))
+            .andExpect(jsonPath("$.[*].image.data").isEmpty());
+
+        // Get the image data
+        restCvMockMvc
+            .perform(get("/api/file-entries/{id}/data", image.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(new byte[] { 1, 2, 3 }));
+    }
+
+    @Test
+    void getAllCvSummaries() throws Exception {
+        // Initialize the database
+        Skill java = skillRepository.save(new Skill().name("Java"));
+        cv.setTitle("Developer");
+        cv.setSkills(List.of(java));
+        cvRepository.save(cv);
+
+        // Get the default summary fields
+        restCvMockMvc
+            .perform(get("/api/cv-summaries?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(cv.getId()))
+            .andExpect(jsonPath("$.[0].title").value("Developer"))
+            .andExpect(jsonPath("$.[0].skills.[0].name").value("Java"))
+            .andExpect(jsonPath("$.[0].email").doesNotExist());
+
+        // Get only the requested fields
+        restCvMockMvc
+            .perform(get("/api/cv-summaries?fields=email"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].email").value(DEFAULT_EMAIL))
+            .andExpect(jsonPath("$.[0].title").doesNotExist())
+            .andExpect(jsonPath("$.[0].skills").doesNotExist());
+
+        // Unknown fields are rejected
+        restCvMockMvc.perform(get("/api/cv-summaries?fields=data")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCvView() throws Exception {
+        // Initialize the database
+        Skill java = skillRepository.save(new Skill().name("Java"));
+        cv.setTitle("Developer");
+        cv.setSkills(List.of(java));
+        cvRepository.save(cv);
+
+        // Get the view, with its skills embedded
+        restCvMockMvc
+            .perform(get("/api/cv-views/{id}", cv.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(cv.getId()))
+            .andExpect(jsonPath("$.title").value("Developer"))
+            .andExpect(jsonPath("$.skills.[0].id").value(java.getId()))
+            .andExpect(jsonPath("$.skills.[0].name").value("Java"));
+
+        // Views of unknown cvs are not found
+        restCvMockMvc.perform(get("/api/cv-views/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
 }
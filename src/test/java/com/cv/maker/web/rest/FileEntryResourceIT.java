@@ -8,13 +8,24 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.cv.maker.IntegrationTest;
 import com.cv.maker.domain.FileEntry;
 import com.cv.maker.repository.FileEntryRepository;
+import com.cv.maker.service.FileEntryContent;
+import com.cv.maker.service.FileEntryContentService;
+import com.cv.maker.service.FileEntryDiskCache;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.zip.InflaterInputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -32,6 +43,15 @@ class FileEntryResourceIT {
     @Autowired
     private FileEntryRepository fileEntryRepository;
 
+    @Autowired
+    private FileEntryContentService fileEntryContentService;
+
+    @Autowired
+    private FileEntryDiskCache fileEntryDiskCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Autowired
     private MockMvc restFileEntryMockMvc;
 
@@ -109,6 +129,22 @@ class FileEntryResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(fileEntry.getId())));
     }
 
+    @Test
+    void getAllFileEntriesWithoutData() throws Exception {
+        byte[] data = new byte[] { 7, 8, 9 };
+        restFileEntryMockMvc.perform(post("/api/save-file").contentType(MediaType.IMAGE_PNG).content(data)).andExpect(status().isOk());
+
+        // Get the fileEntryList with the metadata of their content only
+        restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].contentType").value(MediaType.IMAGE_PNG_VALUE))
+            .andExpect(jsonPath("$.[0].size").value(data.length))
+            .andExpect(jsonPath("$.[0].digest").isNotEmpty())
+            .andExpect(jsonPath("$.[0].createdDate").isNotEmpty())
+            .andExpect(jsonPath("$.[0].data").doesNotExist());
+    }
+
     @Test
     void getFileEntry() throws Exception {
         // Initialize the database
@@ -326,4 +362,215 @@ class FileEntryResourceIT {
         List<FileEntry> fileEntryList = fileEntryRepository.findAll();
         assertThat(fileEntryList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void saveFileAndGetData() throws Exception {
+        byte[] data = new byte[] { 1, 2, 3 };
+
+        // Upload the file
+        restFileEntryMockMvc
+            .perform(multipart("/api/save-file").file(new MockMultipartFile("multipartFile", "file.pdf", "application/pdf", data)))
+            .andExpect(status().isOk());
+
+        // Validate the content is not held by the FileEntry document
+        List<FileEntry> fileEntryList = fileEntryRepository.findAll();
+        FileEntry testFileEntry = fileEntryList.get(fileEntryList.size() - 1);
+        assertThat(testFileEntry.getData()).isNull();
+        String id = testFileEntry.getId();
+
+        // Get the content
+        restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", id))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/pdf"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, data.length))
+            .andExpect(content().bytes(data));
+
+        // Delete the FileEntry with its content
+        restFileEntryMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+        restFileEntryMockMvc.perform(get(ENTITY_API_URL_ID + "/data", id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getFileEntryDataRange() throws Exception {
+        // Initialize the database
+        fileEntry.setData(new byte[] { 1, 2, 3, 4, 5 });
+        fileEntryRepository.save(fileEntry);
+
+        // Get a range of the content
+        String eTag = restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", fileEntry.getId()).header(HttpHeaders.RANGE, "bytes=1-2"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 1-2/5"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(content().bytes(new byte[] { 2, 3 }))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // Get the current version of the content
+        restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", fileEntry.getId()).param("v", eTag.replace("\"", "")))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+            .andExpect(content().bytes(new byte[] { 1, 2, 3, 4, 5 }));
+
+        // Revalidate the content
+        restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", fileEntry.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getCachedFileEntryDataRange() throws Exception {
+        byte[] data = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+
+        // Upload the content, and wait for it to be cached
+        restFileEntryMockMvc
+            .perform(post("/api/save-file").contentType(MediaType.APPLICATION_OCTET_STREAM).content(data))
+            .andExpect(status().isOk());
+        FileEntry testFileEntry = fileEntryRepository.findAll().get(0);
+        FileEntryContent stored = fileEntryContentService.findContent(testFileEntry.getDigest()).orElseThrow();
+        await(() -> fileEntryDiskCache.get(stored).isPresent());
+        assertThat(fileEntryDiskCache.get(stored)).isPresent();
+
+        // Get a range of the cached content
+        restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", testFileEntry.getId()).header(HttpHeaders.RANGE, "bytes=6-8"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 6-8/10"))
+            .andExpect(content().bytes(new byte[] { 7, 8, 9 }));
+    }
+
+    @Test
+    void saveFileContentAndGetData() throws Exception {
+        byte[] data = new byte[] { 1, 2, 3 };
+
+        // Upload the content
+        restFileEntryMockMvc.perform(post("/api/save-file").contentType(MediaType.IMAGE_PNG).content(data)).andExpect(status().isOk());
+
+        // Validate the content is stored with its digest
+        List<FileEntry> fileEntryList = fileEntryRepository.findAll();
+        FileEntry testFileEntry = fileEntryList.get(fileEntryList.size() - 1);
+        assertThat(testFileEntry.getDigest()).isEqualTo("039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81");
+        assertThat(fileEntryContentService.findContent(testFileEntry.getDigest())).isPresent();
+        String id = testFileEntry.getId();
+
+        // Get the content
+        restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", id))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.IMAGE_PNG))
+            .andExpect(content().bytes(data));
+    }
+
+    @Test
+    void saveTooLargeFileContent() throws Exception {
+        int databaseSizeBeforeCreate = fileEntryRepository.findAll().size();
+        long filesBeforeCreate = mongoTemplate.getCollection("fs.files").countDocuments();
+        long chunksBeforeCreate = mongoTemplate.getCollection("fs.chunks").countDocuments();
+
+        // Upload a content one byte larger than the maximum size of the test configuration, spanning several chunks
+        byte[] data = new byte[1024 * 1024 + 1];
+        restFileEntryMockMvc
+            .perform(post("/api/save-file").contentType(MediaType.APPLICATION_OCTET_STREAM).content(data))
+            .andExpect(status().isPayloadTooLarge())
+            .andExpect(jsonPath("$.title").value("File larger than 1048576 bytes!"));
+
+        // Validate nothing is left in the storage
+        assertThat(fileEntryRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+        assertThat(mongoTemplate.getCollection("fs.files").countDocuments()).isEqualTo(filesBeforeCreate);
+        assertThat(mongoTemplate.getCollection("fs.chunks").countDocuments()).isEqualTo(chunksBeforeCreate);
+    }
+
+    @Test
+    void saveIdenticalFilesOnce() throws Exception {
+        byte[] data = new byte[] { 4, 5, 6 };
+
+        // Upload the same content twice
+        restFileEntryMockMvc.perform(post("/api/save-file").contentType(MediaType.IMAGE_PNG).content(data)).andExpect(status().isOk());
+        restFileEntryMockMvc.perform(post("/api/save-file").contentType(MediaType.IMAGE_PNG).content(data)).andExpect(status().isOk());
+
+        // Validate both fileEntries share the content
+        List<FileEntry> fileEntryList = fileEntryRepository.findAll();
+        assertThat(fileEntryList).hasSize(2);
+        String digest = fileEntryList.get(0).getDigest();
+        assertThat(fileEntryList.get(1).getDigest()).isEqualTo(digest);
+
+        // Delete the first fileEntry, the content is still served for the second one
+        restFileEntryMockMvc.perform(delete(ENTITY_API_URL_ID, fileEntryList.get(0).getId())).andExpect(status().isNoContent());
+        restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", fileEntryList.get(1).getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + digest + "\""))
+            .andExpect(content().bytes(data));
+
+        // Delete the second fileEntry, the content is deleted
+        restFileEntryMockMvc.perform(delete(ENTITY_API_URL_ID, fileEntryList.get(1).getId())).andExpect(status().isNoContent());
+        assertThat(fileEntryContentService.findContent(digest)).isEmpty();
+    }
+
+    @Test
+    void getDataWithContentTypeOfEachIdenticalFile() throws Exception {
+        byte[] data = new byte[] { 7, 8, 9 };
+
+        // Upload the same content with two content types
+        restFileEntryMockMvc
+            .perform(post("/api/save-file").contentType(MediaType.APPLICATION_PDF).content(data))
+            .andExpect(status().isOk());
+        restFileEntryMockMvc
+            .perform(post("/api/save-file").contentType(MediaType.APPLICATION_OCTET_STREAM).content(data))
+            .andExpect(status().isOk());
+
+        // Validate each fileEntry is served with its own content type
+        List<FileEntry> fileEntryList = fileEntryRepository.findAll();
+        assertThat(fileEntryList.get(1).getDigest()).isEqualTo(fileEntryList.get(0).getDigest());
+        restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", fileEntryList.get(0).getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_PDF));
+        restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", fileEntryList.get(1).getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    @Test
+    void saveCompressibleFileAndGetData() throws Exception {
+        byte[] data = "Curriculum vitae ".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        // Upload a text content, stored compressed
+        restFileEntryMockMvc.perform(post("/api/save-file").contentType(MediaType.TEXT_PLAIN).content(data)).andExpect(status().isOk());
+        List<FileEntry> fileEntryList = fileEntryRepository.findAll();
+        String id = fileEntryList.get(fileEntryList.size() - 1).getId();
+
+        // Get the content decompressed
+        restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", id))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, data.length))
+            .andExpect(content().bytes(data));
+
+        // Get the content as stored
+        byte[] encoded = restFileEntryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/data", id).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "deflate"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        assertThat(encoded.length).isLessThan(data.length);
+        try (InputStream decoded = new InflaterInputStream(new ByteArrayInputStream(encoded))) {
+            assertThat(decoded.readAllBytes()).isEqualTo(data);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
 }
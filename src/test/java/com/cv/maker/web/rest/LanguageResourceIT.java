@@ -6,8 +6,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.cv.maker.IntegrationTest;
+import com.cv.maker.domain.Cv;
 import com.cv.maker.domain.Language;
+import com.cv.maker.domain.SkillSnapshot;
+import com.cv.maker.repository.CvRepository;
 import com.cv.maker.repository.LanguageRepository;
+import com.cv.maker.service.BatchWriteService;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +43,9 @@ class LanguageResourceIT {
     @Autowired
     private LanguageRepository languageRepository;
 
+    @Autowired
+    private CvRepository cvRepository;
+
     @Autowired
     private MockMvc restLanguageMockMvc;
 
@@ -347,4 +355,61 @@ class LanguageResourceIT {
         List<Language> languageList = languageRepository.findAll();
         assertThat(languageList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void batchUpdateDeleteLanguagesPatchSnapshots() throws Exception {
+        languageRepository.save(language);
+        Cv cv = new Cv();
+        cv.setLanguages(List.of(language));
+        cv = cvRepository.save(cv);
+        int databaseSizeBeforeDelete = languageRepository.findAll().size();
+
+        // Update a batch, the unknown language is not found
+        Language updatedLanguage = languageRepository.findById(language.getId()).get().name(UPDATED_NAME);
+        Language unknownLanguage = createEntity();
+        unknownLanguage.setId(UUID.randomUUID().toString());
+        restLanguageMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(updatedLanguage, unknownLanguage)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[1].status").value(404));
+        assertThat(cvRepository.findById(cv.getId()).get().getLanguageSnapshots())
+            .extracting(SkillSnapshot::getName)
+            .containsExactly(UPDATED_NAME);
+
+        // Delete a batch, the unknown language is not found
+        restLanguageMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch-delete")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(language.getId(), unknownLanguage.getId())))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(204))
+            .andExpect(jsonPath("$.[1].status").value(404));
+        assertThat(languageRepository.findAll()).hasSize(databaseSizeBeforeDelete - 1);
+        assertThat(cvRepository.findById(cv.getId()).get().getLanguageSnapshots()).isEmpty();
+
+        cvRepository.delete(cv);
+    }
+
+    @Test
+    void batchCreateLanguagesTooLarge() throws Exception {
+        List<Language> languages = new ArrayList<>();
+        for (int i = 0; i <= BatchWriteService.MAX_BATCH_SIZE; i++) {
+            languages.add(createEntity());
+        }
+        restLanguageMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(languages))
+            )
+            .andExpect(status().isBadRequest());
+        assertThat(languageRepository.findAll()).isEmpty();
+    }
 }
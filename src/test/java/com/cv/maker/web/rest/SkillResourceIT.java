@@ -14,6 +14,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -114,6 +115,36 @@ class SkillResourceIT {
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
+    @Test
+    void getAllSkillsByCursor() throws Exception {
+        // Initialize the database
+        skillRepository.save(skill);
+        skillRepository.save(createEntity());
+        skillRepository.save(createEntity());
+
+        // Get the first slice, then the slice after its cursor
+        String nextCursor = restSkillMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(header().exists(HttpHeaders.LINK))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+        assertThat(nextCursor).isNotEmpty();
+
+        restSkillMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=" + nextCursor + "&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void getAllSkillsByInvalidCursor() throws Exception {
+        restSkillMockMvc.perform(get(ENTITY_API_URL + "?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
     @Test
     void getSkill() throws Exception {
         // Initialize the database
@@ -336,4 +367,52 @@ class SkillResourceIT {
         List<Skill> skillList = skillRepository.findAll();
         assertThat(skillList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void batchCreateUpdateDeleteSkills() throws Exception {
+        int databaseSizeBeforeCreate = skillRepository.findAll().size();
+
+        // Create a batch, the skill with an id is rejected
+        Skill withId = createEntity();
+        withId.setId("existing_id");
+        restSkillMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(createEntity(), createEntity(), withId)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(201))
+            .andExpect(jsonPath("$.[1].status").value(201))
+            .andExpect(jsonPath("$.[2].status").value(400));
+        List<Skill> skillList = skillRepository.findAll();
+        assertThat(skillList).hasSize(databaseSizeBeforeCreate + 2);
+
+        // Update a batch, the unknown skill is not found
+        Skill updatedSkill = skillList.get(skillList.size() - 1).name(UPDATED_NAME);
+        Skill unknownSkill = createEntity();
+        unknownSkill.setId(UUID.randomUUID().toString());
+        restSkillMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(updatedSkill, unknownSkill)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[1].status").value(404));
+        assertThat(skillRepository.findById(updatedSkill.getId())).get().extracting(Skill::getName).isEqualTo(UPDATED_NAME);
+
+        // Delete a batch
+        restSkillMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch-delete")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(updatedSkill.getId(), unknownSkill.getId())))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(204))
+            .andExpect(jsonPath("$.[1].status").value(404));
+        assertThat(skillRepository.findAll()).hasSize(databaseSizeBeforeCreate + 1);
+    }
 }
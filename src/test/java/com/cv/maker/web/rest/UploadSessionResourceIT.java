@@ -0,0 +1,134 @@
+package com.cv.maker.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.cv.maker.IntegrationTest;
+import com.cv.maker.domain.UploadSession;
+import com.cv.maker.repository.FileEntryRepository;
+import com.cv.maker.repository.UploadSessionRepository;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Integration tests for the {@link UploadSessionResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class UploadSessionResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/upload-sessions";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String CHUNK_API_URL = ENTITY_API_URL_ID + "/chunks/{index}";
+
+    private static final byte[] FIRST_CHUNK = new byte[] { 1, 2, 3 };
+    private static final byte[] SECOND_CHUNK = new byte[] { 4, 5 };
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private FileEntryRepository fileEntryRepository;
+
+    @Autowired
+    private MockMvc restUploadSessionMockMvc;
+
+    private UploadSession uploadSession;
+
+    @BeforeEach
+    public void initTest() {
+        uploadSessionRepository.deleteAll();
+        fileEntryRepository.deleteAll();
+        uploadSession = new UploadSession();
+        uploadSession.setContentType(MediaType.APPLICATION_PDF_VALUE);
+    }
+
+    @Test
+    void uploadInChunks() throws Exception {
+        String id = createUploadSession();
+
+        // Send the chunks out of order, the first one failing its checksum once
+        putChunk(id, 1, SECOND_CHUNK, checksum(SECOND_CHUNK)).andExpect(status().isNoContent());
+        putChunk(id, 0, FIRST_CHUNK, checksum(SECOND_CHUNK)).andExpect(status().isBadRequest());
+        restUploadSessionMockMvc
+            .perform(get(ENTITY_API_URL_ID, id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.chunks").value(contains(1)));
+        putChunk(id, 0, FIRST_CHUNK, checksum(FIRST_CHUNK)).andExpect(status().isNoContent());
+
+        // Complete the session
+        restUploadSessionMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/complete", id))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.digest").value(checksum(new byte[] { 1, 2, 3, 4, 5 })));
+
+        assertThat(fileEntryRepository.findAll()).hasSize(1);
+        assertThat(uploadSessionRepository.findById(id)).isEmpty();
+    }
+
+    @Test
+    void completeWithMissingChunk() throws Exception {
+        String id = createUploadSession();
+        putChunk(id, 1, SECOND_CHUNK, checksum(SECOND_CHUNK)).andExpect(status().isNoContent());
+
+        restUploadSessionMockMvc.perform(post(ENTITY_API_URL_ID + "/complete", id)).andExpect(status().isBadRequest());
+
+        assertThat(fileEntryRepository.findAll()).isEmpty();
+        assertThat(uploadSessionRepository.findById(id)).isPresent();
+    }
+
+    @Test
+    void putChunksLargerThanMaxSize() throws Exception {
+        String id = createUploadSession();
+        byte[] largeChunk = new byte[600 * 1024];
+        byte[] smallChunk = new byte[300 * 1024];
+
+        // The chunks of a session are together limited to the maximum size of the test configuration
+        putChunk(id, 0, largeChunk, checksum(largeChunk)).andExpect(status().isNoContent());
+        putChunk(id, 1, largeChunk, checksum(largeChunk)).andExpect(status().isPayloadTooLarge());
+        putChunk(id, 1, smallChunk, checksum(smallChunk)).andExpect(status().isNoContent());
+
+        // A chunk sent again replaces the previous one instead of adding to it
+        putChunk(id, 0, largeChunk, checksum(largeChunk)).andExpect(status().isNoContent());
+        restUploadSessionMockMvc
+            .perform(get(ENTITY_API_URL_ID, id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.chunks").value(contains(0, 1)));
+    }
+
+    @Test
+    void putChunkOfNonExistingSession() throws Exception {
+        putChunk("unknown", 0, FIRST_CHUNK, checksum(FIRST_CHUNK)).andExpect(status().isNotFound());
+    }
+
+    private String createUploadSession() throws Exception {
+        restUploadSessionMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(uploadSession)))
+            .andExpect(status().isCreated());
+        return uploadSessionRepository.findAll().get(0).getId();
+    }
+
+    private ResultActions putChunk(String id, int index, byte[] chunk, String checksum) throws Exception {
+        return restUploadSessionMockMvc.perform(
+            put(CHUNK_API_URL, id, index)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(UploadSessionResource.CHUNK_CHECKSUM_HEADER, checksum)
+                .content(chunk)
+        );
+    }
+
+    private static String checksum(byte[] chunk) throws Exception {
+        return String.format("%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(chunk)));
+    }
+}
@@ -1,6 +1,7 @@
 package com.cv.maker.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -248,6 +249,34 @@ class UserResourceIT {
             .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
     }
 
+    @Test
+    void getAllUsersByCursorOverStringIds() throws Exception {
+        // Initialize the database with string ids, as the users of the initial setup
+        for (String id : List.of("user-1", "user-2", "user-3")) {
+            User stringIdUser = createEntity();
+            stringIdUser.setId(id);
+            stringIdUser.setLogin(id);
+            stringIdUser.setEmail(id + "@localhost");
+            userRepository.save(stringIdUser);
+        }
+
+        // Get the first slice, then follow the cursor of the next slice
+        String nextCursor = restUserMockMvc
+            .perform(get("/api/admin/users?cursor=&size=2").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(contains("user-1", "user-2")))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+        assertThat(nextCursor).isNotEmpty();
+
+        restUserMockMvc
+            .perform(get("/api/admin/users?cursor=" + nextCursor + "&size=2").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(contains("user-3")))
+            .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @Test
     void getUser() throws Exception {
         // Initialize the database